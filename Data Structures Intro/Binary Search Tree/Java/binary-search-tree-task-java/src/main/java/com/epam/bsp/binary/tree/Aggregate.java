@@ -0,0 +1,62 @@
+package com.epam.bsp.binary.tree;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Value computed over the elements of a subtree and kept up to date by {@link OrderStatisticTreeNode}.
+ * combine must be associative; it receives the aggregates of adjacent ranges in ascending order.
+ */
+public interface Aggregate<E, A> {
+
+    /**
+     * Returns the aggregate of a single element
+     */
+    A of(E element);
+
+    /**
+     * Returns the aggregate of two adjacent ranges, the left one holding the smaller elements
+     */
+    A combine(A left, A right);
+
+    static <E> Aggregate<E, Long> sum(ToLongFunction<? super E> value) {
+        return new Aggregate<>() {
+            @Override
+            public Long of(E element) {
+                return value.applyAsLong(element);
+            }
+
+            @Override
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        };
+    }
+
+    static <E extends Comparable<E>> Aggregate<E, E> min() {
+        return new Aggregate<>() {
+            @Override
+            public E of(E element) {
+                return element;
+            }
+
+            @Override
+            public E combine(E left, E right) {
+                return left.compareTo(right) <= 0 ? left : right;
+            }
+        };
+    }
+
+    static <E extends Comparable<E>> Aggregate<E, E> max() {
+        return new Aggregate<>() {
+            @Override
+            public E of(E element) {
+                return element;
+            }
+
+            @Override
+            public E combine(E left, E right) {
+                return left.compareTo(right) >= 0 ? left : right;
+            }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.epam.bsp.binary.tree;
+
+/**
+ * Node of a self-balancing AVL tree.
+ * After every insertion or deletion the heights of the left and right subtrees
+ * of every node differ by at most 1, so the height of the tree stays O(log n)
+ * and searchInBst, insertInBst and deleteInBst take O(log n) time.
+ * <p>
+ * Rotations may change the root, so always keep the node returned by
+ * insertInBst and deleteInBst as the new root of the tree.
+ */
+public class AvlTreeNode<E extends Comparable<E>> extends TreeNode<E> {
+
+    /**
+     * Height of the subtree rooted at this node; 1 for a leaf
+     */
+    private int height = 1;
+
+    public AvlTreeNode(E element) {
+        super(element);
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Inserts a new element into the tree, rebalancing it, and returns the new root of the tree.
+     */
+    @Override
+    public AvlTreeNode<E> insertInBst(E element) {
+        int cmp = element.compareTo(getElement());
+        if (cmp < 0) {
+            setLeft(getLeft() == null ? newNode(element) : left().insertInBst(element));
+        } else if (cmp > 0) {
+            setRight(getRight() == null ? newNode(element) : right().insertInBst(element));
+        } else {
+            return this;
+        }
+        return rebalance();
+    }
+
+    /**
+     * Deletes an element from the tree, rebalancing it, and returns the new root of the tree
+     * (null if the tree becomes empty).
+     */
+    public AvlTreeNode<E> deleteInBst(E element) {
+        int cmp = element.compareTo(getElement());
+        if (cmp < 0) {
+            if (getLeft() == null) return this;
+            setLeft(left().deleteInBst(element));
+        } else if (cmp > 0) {
+            if (getRight() == null) return this;
+            setRight(right().deleteInBst(element));
+        } else {
+            if (getLeft() == null) return right();
+            if (getRight() == null) return left();
+            // replace the element with its successor and delete the successor from the right subtree
+            AvlTreeNode<E> successor = right();
+            while (successor.getLeft() != null) {
+                successor = successor.left();
+            }
+            setElement(successor.getElement());
+            setRight(right().deleteInBst(successor.getElement()));
+        }
+        return rebalance();
+    }
+
+    /**
+     * Creates a node for a newly inserted element.
+     */
+    protected AvlTreeNode<E> newNode(E element) {
+        return new AvlTreeNode<>(element);
+    }
+
+    /**
+     * Recomputes the data derived from the children after they changed.
+     */
+    protected void update() {
+        height = 1 + Math.max(height(left()), height(right()));
+    }
+
+    protected AvlTreeNode<E> left() {
+        return (AvlTreeNode<E>) getLeft();
+    }
+
+    protected AvlTreeNode<E> right() {
+        return (AvlTreeNode<E>) getRight();
+    }
+
+    private static int height(AvlTreeNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Restores the AVL property at this node, whose subtrees are balanced and differ in height by at most 2.
+     * @return the root of the rebalanced subtree
+     */
+    private AvlTreeNode<E> rebalance() {
+        update();
+        int balance = height(left()) - height(right());
+        if (balance > 1) {
+            if (height(left().left()) < height(left().right())) {
+                setLeft(left().rotateLeft());
+            }
+            return rotateRight();
+        }
+        if (balance < -1) {
+            if (height(right().right()) < height(right().left())) {
+                setRight(right().rotateRight());
+            }
+            return rotateLeft();
+        }
+        return this;
+    }
+
+    private AvlTreeNode<E> rotateRight() {
+        AvlTreeNode<E> root = left();
+        setLeft(root.getRight());
+        root.setRight(this);
+        update();
+        root.update();
+        return root;
+    }
+
+    private AvlTreeNode<E> rotateLeft() {
+        AvlTreeNode<E> root = right();
+        setRight(root.getLeft());
+        root.setLeft(this);
+        update();
+        root.update();
+        return root;
+    }
+}
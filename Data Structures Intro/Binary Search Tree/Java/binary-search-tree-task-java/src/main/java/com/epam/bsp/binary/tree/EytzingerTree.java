@@ -0,0 +1,81 @@
+package com.epam.bsp.binary.tree;
+
+import java.util.List;
+
+/**
+ * Read-only BST stored in a flat array in Eytzinger (BFS) order, created by {@link TreeNode#freeze()}.
+ * <p>
+ * The root is at index 1 and the children of the node at index i are at 2i and 2i + 1, so there are
+ * no node objects and links to follow: a search touches one array slot per level, and the top levels
+ * that every search goes through stay in the CPU cache together.
+ * The search loop has no data-dependent branch; the position of the answer is
+ * restored from the path bits of the final index once the loop leaves the tree.
+ */
+public class EytzingerTree<E extends Comparable<E>> {
+
+    /**
+     * elements[1..size] in Eytzinger order; elements[0] is unused
+     */
+    private final Object[] elements;
+    private final int size;
+
+    /**
+     * Constructor: create the tree from elements in strictly ascending order
+     */
+    EytzingerTree(List<E> sorted) {
+        this.size = sorted.size();
+        this.elements = new Object[size + 1];
+        fill(sorted, 1, 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(E element) {
+        E ceiling = ceiling(element);
+        return ceiling != null && ceiling.compareTo(element) == 0;
+    }
+
+    /**
+     * Returns the least element that is greater than or equal to given element, or null if there is none.
+     */
+    public E ceiling(E element) {
+        int i = 1;
+        while (i <= size) {
+            i = 2 * i + (get(i).compareTo(element) < 0 ? 1 : 0);
+        }
+        // drop the right turns taken after the last left turn, then the left turn itself
+        i >>>= Integer.numberOfTrailingZeros(~i) + 1;
+        return i == 0 ? null : get(i);
+    }
+
+    /**
+     * Returns the greatest element that is less than or equal to given element, or null if there is none.
+     */
+    public E floor(E element) {
+        int i = 1;
+        while (i <= size) {
+            i = 2 * i + (get(i).compareTo(element) <= 0 ? 1 : 0);
+        }
+        // drop the left turns taken after the last right turn, then the right turn itself
+        i >>>= Integer.numberOfTrailingZeros(i) + 1;
+        return i == 0 ? null : get(i);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(int i) {
+        return (E) elements[i];
+    }
+
+    /**
+     * Fills the subtree rooted at index i with sorted elements starting from given position (inorder).
+     * @return the position of the first element not used
+     */
+    private int fill(List<E> sorted, int i, int position) {
+        if (i > size) return position;
+        position = fill(sorted, 2 * i, position);
+        elements[i] = sorted.get(position++);
+        return fill(sorted, 2 * i + 1, position);
+    }
+}
@@ -0,0 +1,221 @@
+package com.epam.bsp.binary.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Concurrent ordered set of distinct elements: a lock-free skip list (Herlihy-Shavit).
+ * It is the thread-safe counterpart of a BST built with {@link TreeNode#insertInBst(Comparable)}.
+ * <p>
+ * Level 0 is a sorted lock-free linked list that holds all elements; every higher level links a random
+ * subset (half) of the level below and serves as an express lane, so operations take O(log n) expected time.
+ * An element is removed by marking its next references from the top level down; marking level 0
+ * is the moment of removal. Searches that run into a marked node unlink it.
+ * <p>
+ * search never modifies the list and never retries. range is weakly consistent: it reflects
+ * some of the updates that happen while it runs. Null elements are not allowed.
+ */
+public class LockFreeSkipList<E extends Comparable<E>> {
+
+    private static final int MAX_LEVEL = 31;
+
+    private static class Node<E> {
+        final E element;
+        final AtomicMarkableReference<Node<E>>[] next;
+        final int topLevel;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(E element, int topLevel) {
+            this.element = element;
+            this.topLevel = topLevel;
+            this.next = (AtomicMarkableReference<Node<E>>[]) new AtomicMarkableReference[topLevel + 1];
+            for (int level = 0; level <= topLevel; level++) {
+                next[level] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+    }
+
+    /**
+     * Sentinel node that precedes all elements on every level; a null reference ends every level
+     */
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+
+    /**
+     * Inserts given element.
+     * @return false if the element is already in the list
+     */
+    public boolean insert(E element) {
+        int topLevel = randomLevel();
+        Node<E>[] preds = newNodeArray();
+        Node<E>[] succs = newNodeArray();
+        while (true) {
+            if (find(element, preds, succs)) {
+                return false;
+            }
+            Node<E> node = new Node<>(element, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level].set(succs[level], false);
+            }
+            // the element is in the list once it is linked on level 0
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                continue;
+            }
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    boolean[] marked = {false};
+                    Node<E> succ = node.next[level].get(marked);
+                    if (marked[0]) {
+                        // removed concurrently: do not link it any higher
+                        return true;
+                    }
+                    if (succ != succs[level] && !node.next[level].compareAndSet(succ, succs[level], false, false)) {
+                        return true;
+                    }
+                    if (preds[level].next[level].compareAndSet(succs[level], node, false, false)) {
+                        break;
+                    }
+                    find(element, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Removes given element.
+     * @return whether the element was in the list and this call removed it
+     */
+    public boolean delete(E element) {
+        Node<E>[] preds = newNodeArray();
+        Node<E>[] succs = newNodeArray();
+        if (!find(element, preds, succs)) {
+            return false;
+        }
+        Node<E> victim = succs[0];
+        boolean[] marked = {false};
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Node<E> succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].compareAndSet(succ, succ, false, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+        Node<E> succ = victim.next[0].get(marked);
+        while (true) {
+            boolean markedHere = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (markedHere) {
+                // unlinks the victim from all levels
+                find(element, preds, succs);
+                return true;
+            }
+            if (marked[0]) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Checks whether given element is in the list. Wait-free: it only skips the marked nodes.
+     */
+    public boolean search(E element) {
+        Node<E> pred = head;
+        Node<E> curr = null;
+        boolean[] marked = {false};
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (curr != null) {
+                Node<E> succ = curr.next[level].get(marked);
+                while (marked[0]) {
+                    curr = succ;
+                    if (curr == null) break;
+                    succ = curr.next[level].get(marked);
+                }
+                if (curr == null || curr.element.compareTo(element) >= 0) break;
+                pred = curr;
+                curr = succ;
+            }
+        }
+        return curr != null && curr.element.compareTo(element) == 0;
+    }
+
+    /**
+     * Returns the elements in [from, to] in ascending order.
+     */
+    public List<E> range(E from, E to) {
+        List<E> result = new ArrayList<>();
+        Node<E> pred = head;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            Node<E> curr = pred.next[level].getReference();
+            while (curr != null && curr.element.compareTo(from) < 0) {
+                pred = curr;
+                curr = curr.next[level].getReference();
+            }
+        }
+        for (Node<E> curr = pred.next[0].getReference(); curr != null; curr = curr.next[0].getReference()) {
+            if (curr.element.compareTo(to) > 0) break;
+            if (!curr.next[0].isMarked() && curr.element.compareTo(from) >= 0) {
+                result.add(curr.element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of elements; it traverses the list, so it takes O(n) time.
+     */
+    public int size() {
+        int size = 0;
+        for (Node<E> curr = head.next[0].getReference(); curr != null; curr = curr.next[0].getReference()) {
+            if (!curr.next[0].isMarked()) size++;
+        }
+        return size;
+    }
+
+    /**
+     * Finds on every level the last node before given element (preds) and the node after it (succs),
+     * unlinking the marked nodes on the way.
+     * @return whether the element is in the list
+     */
+    private boolean find(E element, Node<E>[] preds, Node<E>[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<E> pred = head;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                Node<E> curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node<E> succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        if (curr == null) break;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (curr == null || curr.element.compareTo(element) >= 0) break;
+                    pred = curr;
+                    curr = succ;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0] != null && succs[0].element.compareTo(element) == 0;
+        }
+    }
+
+    /**
+     * Returns a random top level: level l is chosen with probability 2^-(l+1)
+     */
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | 1 << MAX_LEVEL);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<E>[] newNodeArray() {
+        return (Node<E>[]) new Node[MAX_LEVEL + 1];
+    }
+}
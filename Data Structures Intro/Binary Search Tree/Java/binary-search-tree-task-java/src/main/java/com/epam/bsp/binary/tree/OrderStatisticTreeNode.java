@@ -0,0 +1,197 @@
+package com.epam.bsp.binary.tree;
+
+/**
+ * AVL tree node augmented with the size of its subtree and an optional {@link Aggregate} of its elements.
+ * Both are recomputed from the children whenever the tree changes, so select, rank,
+ * range counts and range aggregates take O(log n) time instead of a full inorder traversal.
+ * <p>
+ * As with {@link AvlTreeNode}, keep the node returned by insertInBst and deleteInBst as the new root.
+ */
+public class OrderStatisticTreeNode<E extends Comparable<E>, A> extends AvlTreeNode<E> {
+
+    /**
+     * Aggregate kept for every subtree; null if only sizes are kept
+     */
+    private final Aggregate<? super E, A> aggregate;
+    private int size = 1;
+    /**
+     * Aggregate of the elements of the subtree rooted at this node
+     */
+    private A value;
+
+    public OrderStatisticTreeNode(E element, Aggregate<? super E, A> aggregate) {
+        super(element);
+        this.aggregate = aggregate;
+        this.value = aggregate == null ? null : aggregate.of(element);
+    }
+
+    public OrderStatisticTreeNode(E element) {
+        this(element, null);
+    }
+
+    /**
+     * Returns the number of elements in the subtree rooted at this node.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the aggregate of all elements in the subtree rooted at this node.
+     */
+    public A aggregate() {
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public OrderStatisticTreeNode<E, A> insertInBst(E element) {
+        return (OrderStatisticTreeNode<E, A>) super.insertInBst(element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public OrderStatisticTreeNode<E, A> deleteInBst(E element) {
+        return (OrderStatisticTreeNode<E, A>) super.deleteInBst(element);
+    }
+
+    /**
+     * Returns the k-th smallest element (k = 0 is the minimum).
+     */
+    public E select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("Index: " + k + ", size: " + size);
+        }
+        OrderStatisticTreeNode<E, A> node = this;
+        while (true) {
+            int leftSize = size(node.left());
+            if (k < leftSize) {
+                node = node.left();
+            } else if (k == leftSize) {
+                return node.getElement();
+            } else {
+                k -= leftSize + 1;
+                node = node.right();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements less than given element.
+     */
+    public int rank(E element) {
+        return countBelow(element, false);
+    }
+
+    /**
+     * Returns the number of elements in [from, to].
+     */
+    public int countInRange(E from, E to) {
+        if (from.compareTo(to) > 0) return 0;
+        return countBelow(to, true) - countBelow(from, false);
+    }
+
+    /**
+     * Returns the aggregate of the elements in [from, to], or null if there are none.
+     */
+    public A aggregateInRange(E from, E to) {
+        if (aggregate == null) {
+            throw new IllegalStateException("No aggregate is kept by this tree");
+        }
+        // find the highest node within the range; the rest of the range lies in its subtrees
+        OrderStatisticTreeNode<E, A> split = this;
+        while (split != null) {
+            if (split.getElement().compareTo(from) < 0) {
+                split = split.right();
+            } else if (split.getElement().compareTo(to) > 0) {
+                split = split.left();
+            } else {
+                break;
+            }
+        }
+        if (split == null) return null;
+
+        // elements >= from in the left subtree, collected from the largest ones
+        A left = null;
+        for (OrderStatisticTreeNode<E, A> node = split.left(); node != null; ) {
+            if (node.getElement().compareTo(from) >= 0) {
+                left = combine(combine(aggregate.of(node.getElement()), value(node.right())), left);
+                node = node.left();
+            } else {
+                node = node.right();
+            }
+        }
+        // elements <= to in the right subtree, collected from the smallest ones
+        A right = null;
+        for (OrderStatisticTreeNode<E, A> node = split.right(); node != null; ) {
+            if (node.getElement().compareTo(to) <= 0) {
+                right = combine(right, combine(value(node.left()), aggregate.of(node.getElement())));
+                node = node.right();
+            } else {
+                node = node.left();
+            }
+        }
+        return combine(combine(left, aggregate.of(split.getElement())), right);
+    }
+
+    @Override
+    protected OrderStatisticTreeNode<E, A> newNode(E element) {
+        return new OrderStatisticTreeNode<>(element, aggregate);
+    }
+
+    @Override
+    protected void update() {
+        super.update();
+        size = 1 + size(left()) + size(right());
+        if (aggregate != null) {
+            value = combine(combine(value(left()), aggregate.of(getElement())), value(right()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected OrderStatisticTreeNode<E, A> left() {
+        return (OrderStatisticTreeNode<E, A>) super.left();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected OrderStatisticTreeNode<E, A> right() {
+        return (OrderStatisticTreeNode<E, A>) super.right();
+    }
+
+    /**
+     * Returns the number of elements less than (or equal to, if inclusive) given element.
+     */
+    private int countBelow(E element, boolean inclusive) {
+        int count = 0;
+        OrderStatisticTreeNode<E, A> node = this;
+        while (node != null) {
+            int cmp = node.getElement().compareTo(element);
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                count += size(node.left()) + 1;
+                node = node.right();
+            } else {
+                node = node.left();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Combines two aggregates, treating null as the aggregate of no elements.
+     */
+    private A combine(A left, A right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        return aggregate.combine(left, right);
+    }
+
+    private static int size(OrderStatisticTreeNode<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <A> A value(OrderStatisticTreeNode<?, A> node) {
+        return node == null ? null : node.value;
+    }
+}
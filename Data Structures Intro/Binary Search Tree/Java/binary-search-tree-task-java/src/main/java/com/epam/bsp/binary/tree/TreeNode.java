@@ -1,5 +1,9 @@
 package com.epam.bsp.binary.tree;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class TreeNode<E extends Comparable<E>> {
 
     /**
@@ -59,46 +63,80 @@ public class TreeNode<E extends Comparable<E>> {
         return checkBalance(this) != -1;
     }
 
-    private int checkBalance(TreeNode<E> node) {
-        if (node == null) return 0;
-        int leftHeight = checkBalance(node.left);
-        if (leftHeight == -1) return -1;
-        int rightHeight = checkBalance(node.right);
-        if (rightHeight == -1) return -1;
-
-        if (Math.abs(leftHeight - rightHeight) > 1) return -1;
-        return Math.max(leftHeight, rightHeight) + 1;
+    /**
+     * Returns the height of the subtree, or -1 if some subtree is not balanced.
+     * Postorder traversal with an explicit stack; the heights of the finished subtrees
+     * are kept on a second stack until their parent is finished.
+     */
+    private int checkBalance(TreeNode<E> root) {
+        if (root == null) return 0;
+        NodeStack<TreeNode<E>> nodes = new NodeStack<>();
+        int[] heights = new int[16];
+        int nHeights = 0;
+        TreeNode<E> node = root;
+        TreeNode<E> last = null;
+        while (node != null || !nodes.isEmpty()) {
+            if (node != null) {
+                nodes.push(node);
+                node = node.left;
+                continue;
+            }
+            TreeNode<E> top = nodes.peek();
+            if (top.right != null && top.right != last) {
+                node = top.right;
+                continue;
+            }
+            nodes.pop();
+            int rightHeight = top.right == null ? 0 : heights[--nHeights];
+            int leftHeight = top.left == null ? 0 : heights[--nHeights];
+            if (Math.abs(leftHeight - rightHeight) > 1) return -1;
+            if (nHeights == heights.length) {
+                heights = Arrays.copyOf(heights, nHeights * 2);
+            }
+            heights[nHeights++] = Math.max(leftHeight, rightHeight) + 1;
+            last = top;
+        }
+        return heights[0];
     }
 
     /**
      * Checks whether the tree is a valid Binary Search Tree.
      */
     public boolean isBinarySearchTree() {
-        return isBST(this, null, null);
+        return isBST(this);
     }
 
-    private boolean isBST(TreeNode<E> node, E min, E max) {
-        if (node == null) return true;
-
-        E val = node.getElement();
-        if ((min != null && val.compareTo(min) <= 0) ||
-            (max != null && val.compareTo(max) >= 0)) {
-            return false;
+    /**
+     * Inorder traversal with an explicit stack: the tree is a BST if and only if
+     * its elements come out in strictly ascending order.
+     */
+    private boolean isBST(TreeNode<E> root) {
+        NodeStack<TreeNode<E>> nodes = new NodeStack<>();
+        TreeNode<E> node = root;
+        E prev = null;
+        while (node != null || !nodes.isEmpty()) {
+            while (node != null) {
+                nodes.push(node);
+                node = node.left;
+            }
+            node = nodes.pop();
+            if (prev != null && node.element.compareTo(prev) <= 0) return false;
+            prev = node.element;
+            node = node.right;
         }
-
-        return isBST(node.left, min, val) && isBST(node.right, val, max);
+        return true;
     }
 
     /**
      * Searches for an element in the BST and returns the node containing it.
      */
     public TreeNode<E> searchInBst(E element) {
-        if (this == null) return null;
-        int cmp = element.compareTo(this.element);
-
-        if (cmp == 0) return this;
-        else if (cmp < 0 && left != null) return left.searchInBst(element);
-        else if (cmp > 0 && right != null) return right.searchInBst(element);
+        TreeNode<E> node = this;
+        while (node != null) {
+            int cmp = element.compareTo(node.element);
+            if (cmp == 0) return node;
+            node = cmp < 0 ? node.left : node.right;
+        }
         return null;
     }
 
@@ -106,19 +144,117 @@ public class TreeNode<E extends Comparable<E>> {
      * Inserts a new element into the BST and returns the root of the tree.
      */
     public TreeNode<E> insertInBst(E element) {
-        if (element.compareTo(this.element) < 0) {
-            if (this.left == null) {
-                this.left = new TreeNode<>(element);
+        TreeNode<E> node = this;
+        while (true) {
+            int cmp = element.compareTo(node.element);
+            if (cmp < 0) {
+                if (node.left == null) {
+                    node.left = new TreeNode<>(element);
+                    break;
+                }
+                node = node.left;
+            } else if (cmp > 0) {
+                if (node.right == null) {
+                    node.right = new TreeNode<>(element);
+                    break;
+                }
+                node = node.right;
             } else {
-                this.left.insertInBst(element);
+                break;
             }
-        } else if (element.compareTo(this.element) > 0) {
-            if (this.right == null) {
-                this.right = new TreeNode<>(element);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the greatest element in the BST that is less than or equal to given element, or null if there is none.
+     */
+    public E floorInBst(E element) {
+        E floor = null;
+        TreeNode<E> node = this;
+        while (node != null) {
+            int cmp = element.compareTo(node.element);
+            if (cmp == 0) return node.element;
+            if (cmp < 0) {
+                node = node.left;
             } else {
-                this.right.insertInBst(element);
+                floor = node.element;
+                node = node.right;
             }
         }
-        return this;
+        return floor;
+    }
+
+    /**
+     * Returns the least element in the BST that is greater than or equal to given element, or null if there is none.
+     */
+    public E ceilingInBst(E element) {
+        E ceiling = null;
+        TreeNode<E> node = this;
+        while (node != null) {
+            int cmp = element.compareTo(node.element);
+            if (cmp == 0) return node.element;
+            if (cmp > 0) {
+                node = node.right;
+            } else {
+                ceiling = node.element;
+                node = node.left;
+            }
+        }
+        return ceiling;
+    }
+
+    /**
+     * Returns the elements of the BST in [from, to] in ascending order.
+     * Only the subtrees that may contain such elements are visited.
+     */
+    public List<E> rangeInBst(E from, E to) {
+        List<E> result = new ArrayList<>();
+        NodeStack<TreeNode<E>> stack = new NodeStack<>();
+        TreeNode<E> node = this;
+        while (node != null || !stack.isEmpty()) {
+            // go left only while the left subtree may still hold elements >= from
+            while (node != null) {
+                if (node.element.compareTo(from) < 0) {
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+            if (stack.isEmpty()) break;
+            node = stack.pop();
+            if (node.element.compareTo(to) > 0) break;
+            result.add(node.element);
+            node = node.right;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements of the BST in ascending order.
+     */
+    public List<E> toSortedList() {
+        List<E> result = new ArrayList<>();
+        NodeStack<TreeNode<E>> stack = new NodeStack<>();
+        TreeNode<E> node = this;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.element);
+            node = node.right;
+        }
+        return result;
+    }
+
+    /**
+     * Copies the BST into a read-only {@link EytzingerTree} for fast searches.
+     * Later changes of this tree are not reflected in it.
+     */
+    public EytzingerTree<E> freeze() {
+        return new EytzingerTree<>(toSortedList());
     }
 }
@@ -0,0 +1,33 @@
+package com.epam.bsp.binary.tree;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+/**
+ * Lazy iterator over the elements of a binary tree in level order (BFS).
+ * The queue holds at most one level of the tree plus the children of the nodes already returned from it.
+ */
+class LevelOrderIterator<E> implements Iterator<E> {
+
+    private final Queue<TreeNode<E>> queue = new ArrayDeque<>();
+
+    LevelOrderIterator(TreeNode<E> root) {
+        if (root != null) queue.add(root);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public E next() {
+        TreeNode<E> node = queue.poll();
+        if (node == null) throw new NoSuchElementException();
+        if (node.getLeft() != null) queue.add(node.getLeft());
+        if (node.getRight() != null) queue.add(node.getRight());
+        return node.getElement();
+    }
+}
@@ -0,0 +1,36 @@
+package com.epam.bsp.binary.tree;
+
+import java.util.Arrays;
+
+/**
+ * Array-based stack used by the iterative tree algorithms instead of the call stack,
+ * so degenerate (very deep) trees do not cause StackOverflowError.
+ */
+class NodeStack<T> {
+
+    private Object[] items = new Object[16];
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(T item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = item;
+    }
+
+    @SuppressWarnings("unchecked")
+    T pop() {
+        T item = (T) items[--size];
+        items[size] = null;
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    T peek() {
+        return (T) items[size - 1];
+    }
+}
@@ -0,0 +1,23 @@
+package com.epam.bsp.binary.tree;
+
+/**
+ * Orders in which the elements of a binary tree can be visited
+ */
+public enum TraversalOrder {
+    /**
+     * root → left → right
+     */
+    PREORDER,
+    /**
+     * left → root → right
+     */
+    INORDER,
+    /**
+     * left → right → root
+     */
+    POSTORDER,
+    /**
+     * level by level from the root, left to right (BFS)
+     */
+    LEVEL_ORDER
+}
@@ -1,6 +1,8 @@
 package com.epam.bsp.binary.tree;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TreeNode<E> {
 
@@ -42,11 +44,23 @@ public class TreeNode<E> {
         return isSame(this, treeNode);
     }
 
-    private boolean isSame(TreeNode<E> t1, TreeNode<E> t2) {
-        if (t1 == null && t2 == null) return true;
-        if (t1 == null || t2 == null) return false;
-        if (!(Objects.equals(t1.element, t2.element))) return false;
-        return isSame(t1.left, t2.left) && isSame(t1.right, t2.right);
+    private boolean isSame(TreeNode<E> root1, TreeNode<E> root2) {
+        // pairs of nodes to compare, pushed together
+        NodeStack<TreeNode<E>> nodes = new NodeStack<>();
+        nodes.push(root1);
+        nodes.push(root2);
+        while (!nodes.isEmpty()) {
+            TreeNode<E> t2 = nodes.pop();
+            TreeNode<E> t1 = nodes.pop();
+            if (t1 == null && t2 == null) continue;
+            if (t1 == null || t2 == null) return false;
+            if (!(Objects.equals(t1.element, t2.element))) return false;
+            nodes.push(t1.right);
+            nodes.push(t2.right);
+            nodes.push(t1.left);
+            nodes.push(t2.left);
+        }
+        return true;
     }
 
     /**
@@ -58,11 +72,18 @@ public class TreeNode<E> {
         return res;
     }
 
-    private void inorder(TreeNode<E> node, List<E> res) {
-        if (node == null) return;
-        inorder(node.left, res);
-        res.add(node.element);
-        inorder(node.right, res);
+    private void inorder(TreeNode<E> root, List<E> res) {
+        NodeStack<TreeNode<E>> nodes = new NodeStack<>();
+        TreeNode<E> node = root;
+        while (node != null || !nodes.isEmpty()) {
+            while (node != null) {
+                nodes.push(node);
+                node = node.left;
+            }
+            node = nodes.pop();
+            res.add(node.element);
+            node = node.right;
+        }
     }
 
     /**
@@ -74,11 +95,26 @@ public class TreeNode<E> {
         return res;
     }
 
-    private void postorder(TreeNode<E> node, List<E> res) {
-        if (node == null) return;
-        postorder(node.left, res);
-        postorder(node.right, res);
-        res.add(node.element);
+    private void postorder(TreeNode<E> root, List<E> res) {
+        NodeStack<TreeNode<E>> nodes = new NodeStack<>();
+        TreeNode<E> node = root;
+        TreeNode<E> last = null;
+        while (node != null || !nodes.isEmpty()) {
+            if (node != null) {
+                nodes.push(node);
+                node = node.left;
+                continue;
+            }
+            TreeNode<E> top = nodes.peek();
+            // go right unless the right subtree has just been finished
+            if (top.right != null && top.right != last) {
+                node = top.right;
+                continue;
+            }
+            nodes.pop();
+            res.add(top.element);
+            last = top;
+        }
     }
 
     /**
@@ -90,11 +126,79 @@ public class TreeNode<E> {
         return res;
     }
 
-    private void preorder(TreeNode<E> node, List<E> res) {
-        if (node == null) return;
-        res.add(node.element);
-        preorder(node.left, res);
-        preorder(node.right, res);
+    private void preorder(TreeNode<E> root, List<E> res) {
+        NodeStack<TreeNode<E>> nodes = new NodeStack<>();
+        if (root != null) nodes.push(root);
+        while (!nodes.isEmpty()) {
+            TreeNode<E> node = nodes.pop();
+            res.add(node.element);
+            if (node.right != null) nodes.push(node.right);
+            if (node.left != null) nodes.push(node.left);
+        }
+    }
+
+    /**
+     * Inorder traversal with O(1) extra memory (Morris traversal).
+     * Before descending into a left subtree, the rightmost node of that subtree is temporarily
+     * linked back to the current node; the link is removed when it is followed.
+     * The tree is restored when the method returns, but must not be read concurrently.
+     */
+    public List<E> getMorrisInorderTraversal() {
+        List<E> res = new ArrayList<>();
+        TreeNode<E> node = this;
+        while (node != null) {
+            if (node.left == null) {
+                res.add(node.element);
+                node = node.right;
+                continue;
+            }
+            TreeNode<E> pred = rightmostBelow(node);
+            if (pred.right == null) {
+                pred.right = node;
+                node = node.left;
+            } else {
+                pred.right = null;
+                res.add(node.element);
+                node = node.right;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Preorder traversal with O(1) extra memory (Morris traversal), see {@link #getMorrisInorderTraversal()}.
+     */
+    public List<E> getMorrisPreorderTraversal() {
+        List<E> res = new ArrayList<>();
+        TreeNode<E> node = this;
+        while (node != null) {
+            if (node.left == null) {
+                res.add(node.element);
+                node = node.right;
+                continue;
+            }
+            TreeNode<E> pred = rightmostBelow(node);
+            if (pred.right == null) {
+                res.add(node.element);
+                pred.right = node;
+                node = node.left;
+            } else {
+                pred.right = null;
+                node = node.right;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Returns the rightmost node of the left subtree of a node, stopping at a temporary link back to it.
+     */
+    private static <E> TreeNode<E> rightmostBelow(TreeNode<E> node) {
+        TreeNode<E> pred = node.left;
+        while (pred.right != null && pred.right != node) {
+            pred = pred.right;
+        }
+        return pred;
     }
 
     /**
@@ -117,4 +221,34 @@ public class TreeNode<E> {
 
         return res;
     }
+
+    /**
+     * Returns a lazy iterator over the elements in given order: the tree is walked as elements are requested.
+     * The tree must not be modified during the iteration.
+     */
+    public Iterator<E> iterator(TraversalOrder order) {
+        if (order == TraversalOrder.LEVEL_ORDER) {
+            return new LevelOrderIterator<>(this);
+        }
+        return Spliterators.iterator(new TreeSpliterator<>(this, order));
+    }
+
+    /**
+     * Returns a lazy spliterator over the elements in given order.
+     * Preorder, inorder and postorder spliterators split the tree into subtrees;
+     * the level order one splits off batches of elements.
+     */
+    public Spliterator<E> spliterator(TraversalOrder order) {
+        if (order == TraversalOrder.LEVEL_ORDER) {
+            return Spliterators.spliteratorUnknownSize(new LevelOrderIterator<>(this), Spliterator.ORDERED);
+        }
+        return new TreeSpliterator<>(this, order);
+    }
+
+    /**
+     * Returns a lazy sequential stream of the elements in given order; call parallel() on it to process subtrees in parallel.
+     */
+    public Stream<E> stream(TraversalOrder order) {
+        return StreamSupport.stream(spliterator(order), false);
+    }
 }
@@ -0,0 +1,141 @@
+package com.epam.bsp.binary.tree;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lazy spliterator over the elements of a binary tree in preorder, inorder or postorder.
+ * <p>
+ * It keeps a stack of pending work, with the next work on top. An item is either a node whose
+ * element is to be returned, or a subtree still to be expanded. Expanding a subtree pushes
+ * its two child subtrees and its own element in the order that the traversal requires.
+ * So only O(height) items are kept, and elements are produced on demand.
+ * <p>
+ * trySplit hands over the upper half of the stack, which comes first in the traversal, as the prefix.
+ */
+class TreeSpliterator<E> implements Spliterator<E> {
+
+    private final TraversalOrder order;
+    private TreeNode<E>[] nodes;
+    /**
+     * Whether the item is an element to return rather than a subtree to expand
+     */
+    private boolean[] isElement;
+    private int size;
+    private long estimate;
+
+    TreeSpliterator(TreeNode<E> root, TraversalOrder order) {
+        this(order, 16, Long.MAX_VALUE);
+        if (order == TraversalOrder.LEVEL_ORDER) {
+            throw new IllegalArgumentException("Level order is not supported: " + order);
+        }
+        if (root != null) push(root, false);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TreeSpliterator(TraversalOrder order, int capacity, long estimate) {
+        this.order = order;
+        this.nodes = (TreeNode<E>[]) new TreeNode[capacity];
+        this.isElement = new boolean[capacity];
+        this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        while (size > 0) {
+            TreeNode<E> node = nodes[--size];
+            nodes[size] = null;
+            if (isElement[size]) {
+                action.accept(node.getElement());
+                return true;
+            }
+            expand(node);
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        while (size > 0) {
+            TreeNode<E> node = nodes[--size];
+            nodes[size] = null;
+            if (isElement[size]) {
+                action.accept(node.getElement());
+            } else {
+                expand(node);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        // a single subtree cannot be split, so expand it into its parts first
+        while (size == 1 && !isElement[0]) {
+            TreeNode<E> node = nodes[0];
+            nodes[0] = null;
+            size = 0;
+            expand(node);
+        }
+        if (size < 2) return null;
+
+        int mid = size / 2;
+        TreeSpliterator<E> prefix = new TreeSpliterator<>(order, Math.max(16, size - mid), estimate >>>= 1);
+        prefix.size = size - mid;
+        System.arraycopy(nodes, mid, prefix.nodes, 0, prefix.size);
+        System.arraycopy(isElement, mid, prefix.isElement, 0, prefix.size);
+        Arrays.fill(nodes, mid, size, null);
+        size = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+    /**
+     * Pushes the parts of a subtree in reverse traversal order, so the first part ends up on top.
+     */
+    private void expand(TreeNode<E> node) {
+        switch (order) {
+            case PREORDER:
+                pushSubtree(node.getRight());
+                pushSubtree(node.getLeft());
+                push(node, true);
+                break;
+            case INORDER:
+                pushSubtree(node.getRight());
+                push(node, true);
+                pushSubtree(node.getLeft());
+                break;
+            case POSTORDER:
+                push(node, true);
+                pushSubtree(node.getRight());
+                pushSubtree(node.getLeft());
+                break;
+            default:
+                throw new IllegalStateException("Unexpected order: " + order);
+        }
+    }
+
+    private void pushSubtree(TreeNode<E> node) {
+        if (node == null) return;
+        // a leaf is pushed as its element right away
+        push(node, node.getLeft() == null && node.getRight() == null);
+    }
+
+    private void push(TreeNode<E> node, boolean element) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            isElement = Arrays.copyOf(isElement, size * 2);
+        }
+        nodes[size] = node;
+        isElement[size++] = element;
+    }
+}
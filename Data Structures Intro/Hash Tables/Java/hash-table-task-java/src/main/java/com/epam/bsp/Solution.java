@@ -1,5 +1,8 @@
 package com.epam.bsp;
 
+import com.epam.bsp.dna.RepeatedSequenceFinder;
+import com.epam.bsp.hashtable.IntHashTable;
+
 import java.util.*;
 
 public class Solution {
@@ -26,7 +29,8 @@ public class Solution {
 
         @Override
         public int hashCode() {
-            return Objects.hash(i, j);
+            // equal pairs may have swapped indices, so the hash must not depend on their order
+            return Objects.hash(Math.min(i, j), Math.max(i, j));
         }
     }
 
@@ -34,36 +38,66 @@ public class Solution {
      * Exercise 2: Two Sum
      */
     public static Pair findTargetSum(List<Integer> values, int target) {
-        Map<Integer, Integer> map = new HashMap<>();
+        IntHashTable indices = new IntHashTable(values.size());
         for (int i = 0; i < values.size(); i++) {
-            int complement = target - values.get(i);
-            if (map.containsKey(complement)) {
-                return new Pair(map.get(complement), i);
+            int value = values.get(i);
+            int j = indices.getOrDefault(target - value, -1);
+            if (j >= 0) {
+                return new Pair(j, i);
             }
-            map.put(values.get(i), i);
+            indices.set(value, i);
+        }
+        return null;
+    }
+
+    /**
+     * Exercise 2: Two Sum over primitive values, without boxing.
+     */
+    public static Pair findTargetSum(int[] values, int target) {
+        IntHashTable indices = new IntHashTable(values.length);
+        for (int i = 0; i < values.length; i++) {
+            int j = indices.getOrDefault(target - values[i], -1);
+            if (j >= 0) {
+                return new Pair(j, i);
+            }
+            indices.set(values[i], i);
         }
         return null;
     }
 
     private final static String DNA_ALPHABET = "ATGC";
 
+    private final static int DNA_SEQUENCE_LENGTH = 8;
+
     /**
      * Exercise 3: Find repeated 8-letter DNA sequences.
+     * Every 8-character substring is compared exactly (case-sensitive, blanks included);
+     * for FASTA files and streams see {@link RepeatedSequenceFinder}.
      */
     public static Set<String> findRepeatedDnaSequences(String dnaSequence) {
-        Set<String> seen = new HashSet<>();
-        Set<String> repeated = new HashSet<>();
-
-        int n = dnaSequence.length();
-        if (n < 8) return repeated;
+        if (isDna(dnaSequence)) {
+            // only letters of DNA_ALPHABET: the packed k-mers decode back to the exact substrings
+            return new RepeatedSequenceFinder(DNA_ALPHABET, DNA_SEQUENCE_LENGTH).feed(dnaSequence).getRepeated();
+        }
 
-        for (int i = 0; i <= n - 8; i++) {
-            String sub = dnaSequence.substring(i, i + 8);
+        Set<String> repeated = new HashSet<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i <= dnaSequence.length() - DNA_SEQUENCE_LENGTH; i++) {
+            String sub = dnaSequence.substring(i, i + DNA_SEQUENCE_LENGTH);
             if (!seen.add(sub)) {
                 repeated.add(sub);
             }
         }
-
         return repeated;
     }
+
+    /**
+     * Checks whether a sequence only consists of the letters of DNA_ALPHABET.
+     */
+    private static boolean isDna(String sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            if (DNA_ALPHABET.indexOf(sequence.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
 }
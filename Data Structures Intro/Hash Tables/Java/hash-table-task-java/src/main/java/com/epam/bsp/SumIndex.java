@@ -0,0 +1,276 @@
+package com.epam.bsp;
+
+import com.epam.bsp.hashtable.IntHashTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Index over a growing array of int values that answers many Two Sum queries
+ * (see {@link Solution#findTargetSum(int[], int)}) and k-Sum queries without rebuilding.
+ * <p>
+ * Two strategies are available:
+ * <ul>
+ *     <li>SORTED: (value, index) pairs kept sorted, each query is a two-pointer scan.
+ *     Appended values are sorted separately and merged in on the next query;</li>
+ *     <li>HASH: an {@link IntHashTable} from value to its first index, each query is one lookup per value,
+ *     i.e. still an O(n) scan of the values per query, but without sorting.
+ *     Appended values are added to the table right away.</li>
+ * </ul>
+ * AUTO uses SORTED for small indexes (up to 64K values), whose sorted pairs stay in the CPU cache,
+ * and HASH for larger ones. Both strategies answer a query in O(n) time; they differ in preparation
+ * cost (sorting vs building the table) and memory access pattern.
+ * <p>
+ * Sums are computed without int overflow. The index is not thread-safe, but a batch of queries
+ * is answered in parallel.
+ */
+public class SumIndex {
+
+    public enum Strategy {
+        HASH, SORTED, AUTO
+    }
+
+    private static final int SORTED_MAX_SIZE = 1 << 16;
+    /**
+     * Minimal amount of work (targets x values) for answering a batch in parallel.
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 20;
+
+    private final Strategy strategy;
+
+    private int[] values;
+    private int size;
+
+    /**
+     * value -> first index of the value; null until a HASH query needs it.
+     */
+    private IntHashTable firstIndex;
+    /**
+     * (value << 32 | index) of values[0..nSorted), sorted; null until a SORTED query needs it.
+     */
+    private long[] sorted;
+    private int nSorted;
+
+    public SumIndex(int[] values, Strategy strategy) {
+        this.strategy = strategy;
+        this.values = Arrays.copyOf(values, Math.max(values.length, 16));
+        this.size = values.length;
+    }
+
+    public SumIndex(int[] values) {
+        this(values, Strategy.AUTO);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a value; it gets the next index.
+     */
+    public void append(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        if (firstIndex != null && !firstIndex.containsKey(value)) {
+            firstIndex.set(value, size);
+        }
+        size++;
+    }
+
+    public void append(int[] values) {
+        for (int value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * Finds two different indices whose values sum up to a given target.
+     * @return the pair of indices, or null if there is none.
+     */
+    public Solution.Pair find(int target) {
+        return useHash() ? findWithHash(prepareHash(), target) : findSorted(prepareSorted(), target);
+    }
+
+    /**
+     * Answers find() for every target of a batch.
+     * @return the pairs in the order of the targets, with null where there is no pair.
+     */
+    public Solution.Pair[] findAll(int[] targets) {
+        Solution.Pair[] result = new Solution.Pair[targets.length];
+        IntStream indices = IntStream.range(0, targets.length);
+        if ((long) targets.length * size >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        if (useHash()) {
+            IntHashTable table = prepareHash();
+            indices.forEach(i -> result[i] = findWithHash(table, targets[i]));
+        } else {
+            long[] pairs = prepareSorted();
+            indices.forEach(i -> result[i] = findSorted(pairs, targets[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Finds all distinct combinations of k values (taken at different indices) that sum up to a given target.
+     * The first value of the combinations is chosen in parallel.
+     * @return the combinations, each sorted in ascending order.
+     */
+    public List<int[]> kSum(int k, long target) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        long[] pairs = prepareSorted();
+        int[] sortedValues = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedValues[i] = (int) (pairs[i] >> 32);
+        }
+        if (k == 1) {
+            List<int[]> result = new ArrayList<>();
+            if (target >= Integer.MIN_VALUE && target <= Integer.MAX_VALUE
+                    && Arrays.binarySearch(sortedValues, (int) target) >= 0) {
+                result.add(new int[]{(int) target});
+            }
+            return result;
+        }
+        if (k == 2) {
+            // a single two-pointer scan, there is no first value to fan out on
+            List<int[]> found = new ArrayList<>();
+            kSum(sortedValues, 0, 2, target, new int[2], 0, found);
+            return found;
+        }
+        return IntStream.range(0, size - k + 1)
+                .parallel()
+                .filter(i -> i == 0 || sortedValues[i] != sortedValues[i - 1])
+                .mapToObj(i -> {
+                    List<int[]> found = new ArrayList<>();
+                    int[] prefix = new int[k];
+                    prefix[0] = sortedValues[i];
+                    kSum(sortedValues, i + 1, k - 1, target - sortedValues[i], prefix, 1, found);
+                    return found;
+                })
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds to found the combinations of k >= 2 values from sortedValues[from..] that sum up to target,
+     * each prepended with prefix[0..depth).
+     */
+    private static void kSum(int[] sortedValues, int from, int k, long target,
+                             int[] prefix, int depth, List<int[]> found) {
+        int n = sortedValues.length;
+        if (n - from < k) return;
+        // the smallest and the largest possible sums bound the target
+        long min = 0, max = 0;
+        for (int i = 0; i < k; i++) {
+            min += sortedValues[from + i];
+            max += sortedValues[n - 1 - i];
+        }
+        if (target < min || target > max) return;
+
+        if (k == 2) {
+            int lo = from, hi = n - 1;
+            while (lo < hi) {
+                long sum = (long) sortedValues[lo] + sortedValues[hi];
+                if (sum < target) {
+                    lo++;
+                } else if (sum > target) {
+                    hi--;
+                } else {
+                    int[] combination = Arrays.copyOf(prefix, depth + 2);
+                    combination[depth] = sortedValues[lo];
+                    combination[depth + 1] = sortedValues[hi];
+                    found.add(combination);
+                    int value = sortedValues[lo];
+                    while (lo < hi && sortedValues[lo] == value) lo++;
+                }
+            }
+            return;
+        }
+        for (int i = from; i <= n - k; i++) {
+            if (i > from && sortedValues[i] == sortedValues[i - 1]) continue;
+            prefix[depth] = sortedValues[i];
+            kSum(sortedValues, i + 1, k - 1, target - sortedValues[i], prefix, depth + 1, found);
+        }
+    }
+
+    private boolean useHash() {
+        return strategy == Strategy.HASH || (strategy == Strategy.AUTO && size > SORTED_MAX_SIZE);
+    }
+
+    private IntHashTable prepareHash() {
+        if (firstIndex == null) {
+            firstIndex = new IntHashTable(size);
+            for (int i = 0; i < size; i++) {
+                if (!firstIndex.containsKey(values[i])) {
+                    firstIndex.set(values[i], i);
+                }
+            }
+        }
+        return firstIndex;
+    }
+
+    /**
+     * Sorts the values appended since the last SORTED query and merges them into the sorted pairs.
+     */
+    private long[] prepareSorted() {
+        if (sorted == null) {
+            sorted = new long[0];
+        }
+        if (nSorted < size) {
+            long[] tail = new long[size - nSorted];
+            for (int i = nSorted; i < size; i++) {
+                tail[i - nSorted] = pack(values[i], i);
+            }
+            Arrays.sort(tail);
+            long[] merged = new long[size];
+            int a = 0, b = 0, m = 0;
+            while (a < nSorted && b < tail.length) {
+                merged[m++] = sorted[a] <= tail[b] ? sorted[a++] : tail[b++];
+            }
+            while (a < nSorted) merged[m++] = sorted[a++];
+            while (b < tail.length) merged[m++] = tail[b++];
+            sorted = merged;
+            nSorted = size;
+        }
+        return sorted;
+    }
+
+    private Solution.Pair findWithHash(IntHashTable table, int target) {
+        for (int j = 0; j < size; j++) {
+            long complement = (long) target - values[j];
+            if (complement < Integer.MIN_VALUE || complement > Integer.MAX_VALUE) continue;
+            int i = table.getOrDefault((int) complement, -1);
+            if (i >= 0 && i != j) {
+                return new Solution.Pair(Math.min(i, j), Math.max(i, j));
+            }
+        }
+        return null;
+    }
+
+    private static Solution.Pair findSorted(long[] pairs, int target) {
+        int lo = 0, hi = pairs.length - 1;
+        while (lo < hi) {
+            long sum = (pairs[lo] >> 32) + (pairs[hi] >> 32);
+            if (sum < target) {
+                lo++;
+            } else if (sum > target) {
+                hi--;
+            } else {
+                int i = (int) pairs[lo], j = (int) pairs[hi];
+                return new Solution.Pair(Math.min(i, j), Math.max(i, j));
+            }
+        }
+        return null;
+    }
+
+    private static long pack(int value, int index) {
+        return (long) value << 32 | (index & 0xFFFFFFFFL);
+    }
+}
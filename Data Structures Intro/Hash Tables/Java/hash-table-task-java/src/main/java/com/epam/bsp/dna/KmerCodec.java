@@ -0,0 +1,78 @@
+package com.epam.bsp.dna;
+
+import java.util.Arrays;
+
+/**
+ * Packs k-mers over a 4-letter alphabet into a long, 2 bits per letter,
+ * the first letter in the highest bits.
+ */
+final class KmerCodec {
+
+    static final int MAX_K = 32;
+
+    final String alphabet;
+    final int k;
+    final long mask;
+    private final byte[] codes = new byte[128];
+
+    KmerCodec(String alphabet, int k) {
+        if (alphabet.length() != 4) {
+            throw new IllegalArgumentException("Alphabet must have 4 letters: " + alphabet);
+        }
+        if (k < 1 || k > MAX_K) {
+            throw new IllegalArgumentException("k must be in [1, " + MAX_K + "]: " + k);
+        }
+        this.alphabet = alphabet;
+        this.k = k;
+        this.mask = k == MAX_K ? -1L : (1L << (2 * k)) - 1;
+        Arrays.fill(codes, (byte) -1);
+        for (byte code = 0; code < 4; code++) {
+            char letter = alphabet.charAt(code);
+            codes[Character.toUpperCase(letter)] = code;
+            codes[Character.toLowerCase(letter)] = code;
+        }
+    }
+
+    /**
+     * Returns the 2-bit code of a letter, or -1 if it is not in the alphabet.
+     */
+    int code(int c) {
+        return c < 128 ? codes[c] : -1;
+    }
+
+    /**
+     * Checks whether a string is a k-mer: k letters of the alphabet.
+     */
+    boolean isKmer(CharSequence letters) {
+        if (letters.length() != k) return false;
+        for (int i = 0; i < k; i++) {
+            if (code(letters.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Packs a k-letter string. Every long is a valid k-mer when k = 32, so invalid input
+     * cannot be reported with a special value; check it with isKmer first.
+     * @throws IllegalArgumentException if the string is not a k-mer.
+     */
+    long encode(CharSequence letters) {
+        if (!isKmer(letters)) {
+            throw new IllegalArgumentException("Not a " + k + "-mer over " + alphabet + ": " + letters);
+        }
+        long kmer = 0;
+        for (int i = 0; i < k; i++) {
+            kmer = (kmer << 2) | code(letters.charAt(i));
+        }
+        return kmer;
+    }
+
+    String decode(long kmer) {
+        char[] letters = new char[k];
+        for (int i = k - 1; i >= 0; i--) {
+            letters[i] = alphabet.charAt((int) (kmer & 3));
+            kmer >>>= 2;
+        }
+        return new String(letters);
+    }
+}
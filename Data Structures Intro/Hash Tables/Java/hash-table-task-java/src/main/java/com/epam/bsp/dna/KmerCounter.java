@@ -0,0 +1,185 @@
+package com.epam.bsp.dna;
+
+import com.epam.bsp.hashtable.LongHashTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Counts the occurrences of every k-mer of a DNA sequence on all cores.
+ * <p>
+ * The input is split into chunks at line breaks. Each chunk is scanned by its own task
+ * into its own primitive {@link LongHashTable}, starting k-1 letters before the chunk
+ * so that the k-mers crossing the boundary are counted exactly once, by the chunk where they end.
+ * The tables are then merged pairwise.
+ * <p>
+ * Chunks are only split at line starts found within MAX_LINE_LOOKUP characters; longer lines
+ * are split anywhere and are assumed to be sequence lines, not FASTA headers.
+ */
+public class KmerCounter {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_LINE_LOOKUP = 1 << 16;
+
+    private final KmerCodec codec;
+    private final int parallelism;
+
+    public KmerCounter(String alphabet, int k, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.codec = new KmerCodec(alphabet, k);
+        this.parallelism = parallelism;
+    }
+
+    public KmerCounter(String alphabet, int k) {
+        this(alphabet, k, Runtime.getRuntime().availableProcessors());
+    }
+
+    public KmerCounts count(CharSequence sequence) {
+        return count(SequenceSource.of(sequence));
+    }
+
+    /**
+     * Counts the k-mers of the remaining bytes of a buffer, read as ASCII.
+     */
+    public KmerCounts count(ByteBuffer buffer) {
+        return count(SequenceSource.of(buffer));
+    }
+
+    /**
+     * Counts the k-mers of a FASTA or plain sequence file, which is memory-mapped.
+     */
+    public KmerCounts countFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return count(SequenceSource.map(channel));
+        }
+    }
+
+    private KmerCounts count(SequenceSource source) {
+        long startTime = System.nanoTime();
+        long[] bounds = chunkBounds(source);
+        ChunkCounts total = IntStream.range(0, bounds.length - 1)
+                .parallel()
+                .mapToObj(i -> countChunk(source, bounds[i], bounds[i + 1]))
+                .reduce(KmerCounter::merge)
+                .orElseGet(() -> new ChunkCounts(new LongHashTable(), 0));
+        return new KmerCounts(codec, total.counts, total.bases, System.nanoTime() - startTime);
+    }
+
+    private static final class ChunkCounts {
+        final LongHashTable counts;
+        final long bases;
+
+        ChunkCounts(LongHashTable counts, long bases) {
+            this.counts = counts;
+            this.bases = bases;
+        }
+    }
+
+    private static ChunkCounts merge(ChunkCounts a, ChunkCounts b) {
+        if (a.counts.size() < b.counts.size()) {
+            ChunkCounts t = a;
+            a = b;
+            b = t;
+        }
+        LongHashTable into = a.counts;
+        b.counts.forEach(into::addTo);
+        return new ChunkCounts(into, a.bases + b.bases);
+    }
+
+    /**
+     * Counts the k-mers whose last letter is in [start, end).
+     */
+    private ChunkCounts countChunk(SequenceSource source, long start, long end) {
+        LongHashTable counts = new LongHashTable();
+        long[] position = new long[1];
+        KmerScanner scanner = new KmerScanner(codec) {
+            @Override
+            void onKmer(long kmer) {
+                if (position[0] >= start) {
+                    counts.addTo(kmer, 1);
+                }
+            }
+        };
+        long from = warmUpStart(source, start);
+        scanner.restart(from == 0 || source.charAt(from - 1) == '\n');
+        long basesBefore = 0;
+        for (long i = from; i < end; i++) {
+            if (i == start) {
+                basesBefore = scanner.bases;
+            }
+            position[0] = i;
+            scanner.accept(source.charAt(i));
+        }
+        return new ChunkCounts(counts, scanner.bases - basesBefore);
+    }
+
+    /**
+     * Returns where to start scanning so that the window is complete at a given chunk start:
+     * k-1 letters before it, or less if the sequence starts, breaks or follows a FASTA header in between.
+     */
+    private long warmUpStart(SequenceSource source, long start) {
+        int need = codec.k - 1;
+        long from = start;
+        while (need > 0 && from > 0) {
+            long lineStart = lineStart(source, from - 1);
+            if (lineStart >= 0 && lineStart < from && source.charAt(lineStart) == '>') {
+                return from;
+            }
+            long lowest = lineStart >= 0 ? lineStart : from - MAX_LINE_LOOKUP;
+            long i = from - 1;
+            for (; i >= lowest && need > 0; i--) {
+                int c = source.charAt(i);
+                if (c == '\n' || c == '\r' || c == ' ' || c == '\t') continue;
+                if (codec.code(c) < 0) {
+                    return i + 1;
+                }
+                need--;
+            }
+            from = i + 1;
+            if (lineStart < 0) break;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the start of the line that contains a given index (a line break belongs to the line it ends),
+     * or -1 if it is more than MAX_LINE_LOOKUP characters back.
+     */
+    private static long lineStart(SequenceSource source, long index) {
+        long lowest = Math.max(0, index - MAX_LINE_LOOKUP);
+        for (long i = index - 1; i >= lowest; i--) {
+            if (source.charAt(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return lowest == 0 ? 0 : -1;
+    }
+
+    /**
+     * Splits the input into chunks, moving every boundary to the next line start if there is one nearby.
+     */
+    private long[] chunkBounds(SequenceSource source) {
+        long length = source.length();
+        int nChunks = (int) Math.max(1, Math.min(length / MIN_CHUNK_SIZE, parallelism * 4L));
+        long[] bounds = new long[nChunks + 1];
+        for (int i = 1; i < nChunks; i++) {
+            long bound = Math.max(length * i / nChunks, bounds[i - 1]);
+            long limit = Math.min(length, bound + MAX_LINE_LOOKUP);
+            for (long j = bound; j < limit; j++) {
+                if (source.charAt(j) == '\n') {
+                    bound = j + 1;
+                    break;
+                }
+            }
+            bounds[i] = bound;
+        }
+        bounds[nChunks] = length;
+        return bounds;
+    }
+}
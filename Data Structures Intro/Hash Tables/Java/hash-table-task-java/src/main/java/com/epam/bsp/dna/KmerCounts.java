@@ -0,0 +1,111 @@
+package com.epam.bsp.dna;
+
+import com.epam.bsp.hashtable.LongHashTable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Result of {@link KmerCounter}: the number of occurrences of every k-mer,
+ * with the throughput of the counting run.
+ */
+public class KmerCounts {
+
+    private final KmerCodec codec;
+    private final LongHashTable counts;
+    private final long bases;
+    private final long elapsedNanos;
+
+    KmerCounts(KmerCodec codec, LongHashTable counts, long bases, long elapsedNanos) {
+        this.codec = codec;
+        this.counts = counts;
+        this.bases = bases;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of occurrences of a given k-mer.
+     */
+    public long count(String kmer) {
+        return codec.isKmer(kmer) ? counts.get(codec.encode(kmer)) : 0;
+    }
+
+    /**
+     * Returns the number of distinct k-mers.
+     */
+    public int distinct() {
+        return counts.size();
+    }
+
+    /**
+     * Returns the number of letters of the alphabet in the input.
+     */
+    public long getBases() {
+        return bases;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double basesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bases * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the n most frequent k-mers with their counts, the most frequent first.
+     */
+    public List<Map.Entry<String, Long>> top(int n) {
+        if (n <= 0) return Collections.emptyList();
+        // min-heap of (count, k-mer) pairs
+        PriorityQueue<long[]> heap = new PriorityQueue<>((a, b) -> Long.compare(a[1], b[1]));
+        counts.forEach((kmer, count) -> {
+            if (heap.size() < n) {
+                heap.add(new long[]{kmer, count});
+            } else if (count > heap.peek()[1]) {
+                long[] entry = heap.poll();
+                entry[0] = kmer;
+                entry[1] = count;
+                heap.add(entry);
+            }
+        });
+        List<Map.Entry<String, Long>> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            long[] entry = heap.poll();
+            result.add(new AbstractMap.SimpleImmutableEntry<>(codec.decode(entry[0]), entry[1]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Returns the k-mers that occur at least threshold times, with their counts.
+     */
+    public Map<String, Long> atLeast(long threshold) {
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach((kmer, count) -> {
+            if (count >= threshold) {
+                result.put(codec.decode(kmer), count);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the histogram of counts: for every count, the number of distinct k-mers that occur that many times.
+     */
+    public SortedMap<Long, Long> histogram() {
+        LongHashTable histogram = new LongHashTable();
+        counts.forEach((kmer, count) -> histogram.addTo(count, 1));
+        SortedMap<Long, Long> result = new TreeMap<>();
+        histogram.forEach(result::put);
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package com.epam.bsp.dna;
+
+/**
+ * Streaming parser that rolls a window of the last k letters over a sequence, one character at a time.
+ * <p>
+ * The input may be plain sequence text or FASTA: lines starting with '&gt;' are headers and start
+ * a new sequence, line breaks and blanks are skipped, and a letter outside the alphabet (such as N)
+ * breaks the window, so no k-mer spans it.
+ */
+abstract class KmerScanner {
+
+    final KmerCodec codec;
+    private long kmer;
+    private int filled;
+    private boolean lineStart = true;
+    private boolean header;
+    /**
+     * Number of letters of the alphabet accepted so far.
+     */
+    long bases;
+
+    KmerScanner(KmerCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Called for every complete k-mer, in the order of the input.
+     */
+    abstract void onKmer(long kmer);
+
+    /**
+     * Restarts the window at a given point of the input: right after a line break or inside a sequence line.
+     */
+    final void restart(boolean atLineStart) {
+        filled = 0;
+        header = false;
+        lineStart = atLineStart;
+    }
+
+    final void accept(int c) {
+        if (header) {
+            if (c == '\n') {
+                header = false;
+                lineStart = true;
+            }
+            return;
+        }
+        if (c == '\n' || c == '\r') {
+            lineStart = true;
+            return;
+        }
+        if (c == '>' && lineStart) {
+            header = true;
+            filled = 0;
+            return;
+        }
+        lineStart = false;
+        if (c == ' ' || c == '\t') {
+            return;
+        }
+        int code = codec.code(c);
+        if (code < 0) {
+            filled = 0;
+            return;
+        }
+        bases++;
+        kmer = ((kmer << 2) | code) & codec.mask;
+        if (filled < codec.k) {
+            filled++;
+        }
+        if (filled == codec.k) {
+            onKmer(kmer);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.epam.bsp.dna;
+
+import com.epam.bsp.hashtable.LongHashTable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds k-letter sequences (k-mers) that occur more than once in a DNA sequence.
+ * <p>
+ * Every k-mer is packed into a long (2 bits per letter) and rolled along the input, so nothing
+ * is allocated per position: seen k-mers are tracked in a bitset when 4^k is small enough,
+ * and in a {@link LongHashTable} otherwise. Strings are only created for the repeated k-mers.
+ * <p>
+ * The input can be fed in several parts (e.g. from a stream), see {@link KmerScanner} for the accepted format.
+ */
+public class RepeatedSequenceFinder {
+
+    /**
+     * Largest k for which seen k-mers are tracked in a bitset (2 x 2^26 bits = 16 MB).
+     */
+    private static final int MAX_BITSET_K = 13;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final long MAPPED_CHUNK_SIZE = 1L << 30;
+
+    private final KmerCodec codec;
+    private final KmerScanner scanner;
+
+    private final long[] seen;
+    private final long[] reported;
+    /**
+     * k-mer -> number of occurrences, capped at 2; used when k is too large for the bitsets.
+     */
+    private final LongHashTable counts;
+
+    private long[] repeated = new long[16];
+    private int nRepeated;
+
+    public RepeatedSequenceFinder(String alphabet, int k) {
+        this.codec = new KmerCodec(alphabet, k);
+        if (k <= MAX_BITSET_K) {
+            this.seen = new long[Math.max(1, (1 << (2 * k)) >>> 6)];
+            this.reported = new long[seen.length];
+            this.counts = null;
+        } else {
+            this.seen = null;
+            this.reported = null;
+            this.counts = new LongHashTable();
+        }
+        this.scanner = new KmerScanner(codec) {
+            @Override
+            void onKmer(long kmer) {
+                add(kmer);
+            }
+        };
+    }
+
+    /**
+     * Finds the repeated k-mers in a FASTA or plain sequence file, which is memory-mapped in chunks.
+     */
+    public static Set<String> findInFile(Path file, String alphabet, int k) throws IOException {
+        RepeatedSequenceFinder finder = new RepeatedSequenceFinder(alphabet, k);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAPPED_CHUNK_SIZE) {
+                long length = Math.min(MAPPED_CHUNK_SIZE, size - position);
+                finder.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        }
+        return finder.getRepeated();
+    }
+
+    public RepeatedSequenceFinder feed(CharSequence sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            scanner.accept(sequence.charAt(i));
+        }
+        return this;
+    }
+
+    public RepeatedSequenceFinder feed(Reader reader) throws IOException {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++) {
+                scanner.accept(buffer[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Feeds the remaining bytes of a buffer as ASCII text, without changing its position.
+     */
+    public RepeatedSequenceFinder feed(ByteBuffer buffer) {
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            scanner.accept(buffer.get(i) & 0xFF);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the k-mers that occurred more than once in the input fed so far.
+     */
+    public Set<String> getRepeated() {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < nRepeated; i++) {
+            result.add(codec.decode(repeated[i]));
+        }
+        return result;
+    }
+
+    private void add(long kmer) {
+        if (counts == null) {
+            int word = (int) (kmer >>> 6);
+            long bit = 1L << kmer;
+            if ((seen[word] & bit) == 0) {
+                seen[word] |= bit;
+            } else if ((reported[word] & bit) == 0) {
+                reported[word] |= bit;
+                report(kmer);
+            }
+        } else {
+            long count = counts.get(kmer);
+            if (count < 2) {
+                counts.set(kmer, count + 1);
+                if (count == 1) {
+                    report(kmer);
+                }
+            }
+        }
+    }
+
+    private void report(long kmer) {
+        if (nRepeated == repeated.length) {
+            repeated = Arrays.copyOf(repeated, nRepeated * 2);
+        }
+        repeated[nRepeated++] = kmer;
+    }
+}
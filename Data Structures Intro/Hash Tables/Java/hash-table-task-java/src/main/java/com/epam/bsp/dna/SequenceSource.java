@@ -0,0 +1,74 @@
+package com.epam.bsp.dna;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Random access to the characters of an input that may be larger than 2 GB.
+ */
+interface SequenceSource {
+
+    long length();
+
+    int charAt(long index);
+
+    static SequenceSource of(CharSequence sequence) {
+        return new SequenceSource() {
+            @Override
+            public long length() {
+                return sequence.length();
+            }
+
+            @Override
+            public int charAt(long index) {
+                return sequence.charAt((int) index);
+            }
+        };
+    }
+
+    /**
+     * Bytes of a buffer from its position to its limit, read as ASCII.
+     */
+    static SequenceSource of(ByteBuffer buffer) {
+        int offset = buffer.position();
+        int length = buffer.remaining();
+        return new SequenceSource() {
+            @Override
+            public long length() {
+                return length;
+            }
+
+            @Override
+            public int charAt(long index) {
+                return buffer.get(offset + (int) index) & 0xFF;
+            }
+        };
+    }
+
+    /**
+     * Whole content of a file, memory-mapped read-only in 1 GB regions.
+     */
+    static SequenceSource map(FileChannel channel) throws IOException {
+        int regionBits = 30;
+        long regionMask = (1L << regionBits) - 1;
+        long length = channel.size();
+        MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((length + regionMask) >>> regionBits)];
+        for (int i = 0; i < regions.length; i++) {
+            long position = (long) i << regionBits;
+            regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionMask + 1, length - position));
+        }
+        return new SequenceSource() {
+            @Override
+            public long length() {
+                return length;
+            }
+
+            @Override
+            public int charAt(long index) {
+                return regions[(int) (index >>> regionBits)].get((int) (index & regionMask)) & 0xFF;
+            }
+        };
+    }
+}
@@ -0,0 +1,466 @@
+package com.epam.bsp.hashtable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache with a bounded number of entries (or total weight) built on {@link HashTable}.
+ * <p>
+ * Entries are indexed by the hash table and linked into intrusive doubly linked lists,
+ * so lookups, insertions and evictions are all O(1). The entry to evict is chosen by
+ * an {@link EvictionPolicy}. Entries may also expire after write or after access;
+ * expired entries are removed when they are looked up.
+ * <p>
+ * The cache is not thread-safe. Null keys and null values are not allowed.
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class BoundedCache<K, V> {
+
+    public enum EvictionPolicy {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+        /**
+         * Evicts the least frequently used entry, the least recently used among equally frequent ones.
+         */
+        LFU,
+        /**
+         * Window TinyLFU: new entries enter a small LRU window; once the cache is full, an entry leaving
+         * the window is admitted to the main space only if it was used more often than the entry it would
+         * evict, which is estimated by a frequency sketch.
+         */
+        TINY_LFU
+    }
+
+    /**
+     * Computes the weight of an entry for a weight-bounded cache.
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    /**
+     * Segments of the TinyLFU lists (the window is also the single list of LRU)
+     */
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    /**
+     * Segment of the LFU frequency lists
+     */
+    private static final byte FREQUENCY = 3;
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        long writeTime;
+        long accessTime;
+        Node<K, V> prev;
+        Node<K, V> next;
+        /**
+         * List the node is in: a TinyLFU segment or an LFU frequency list.
+         */
+        NodeList<K, V> list;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Doubly linked list of nodes ordered from the least to the most recently used.
+     * For LFU the lists themselves are linked in the order of increasing frequency.
+     */
+    private static final class NodeList<K, V> {
+        final byte segment;
+        final int frequency;
+        Node<K, V> first;
+        Node<K, V> last;
+        long weight;
+        NodeList<K, V> prevList;
+        NodeList<K, V> nextList;
+
+        NodeList(byte segment, int frequency) {
+            this.segment = segment;
+            this.frequency = frequency;
+        }
+
+        boolean isEmpty() {
+            return first == null;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.list = this;
+            node.prev = last;
+            node.next = null;
+            if (last == null) first = node;
+            else last.next = node;
+            last = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) first = node.next;
+            else node.prev.next = node.next;
+            if (node.next == null) last = node.prev;
+            else node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            node.list = null;
+            weight -= node.weight;
+        }
+    }
+
+    private final HashTable<K, Node<K, V>> table;
+    private final EvictionPolicy policy;
+    private final long maximum;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier ticker;
+
+    /**
+     * LRU: the single access-ordered list; TINY_LFU: the window segment.
+     */
+    private final NodeList<K, V> window = new NodeList<>(WINDOW, 0);
+    private final NodeList<K, V> probation = new NodeList<>(PROBATION, 0);
+    private final NodeList<K, V> protectedSegment = new NodeList<>(PROTECTED, 0);
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+    /**
+     * LFU: the list of the lowest frequency; lists of higher frequencies follow it.
+     */
+    private NodeList<K, V> lowestFrequency;
+
+    private int size;
+    private long weightedSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private BoundedCache(Builder<K, V> builder) {
+        this.policy = builder.policy;
+        this.maximum = builder.maximum;
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.ticker = builder.ticker;
+
+        long expectedEntries = weigher == null ? maximum : Math.max(maximum / 16, 16);
+        int nBuckets = 16;
+        while (nBuckets < expectedEntries && nBuckets < (1 << 20)) {
+            nBuckets <<= 1;
+        }
+        this.table = new HashTable<>(nBuckets, HashFunctions.fibonacci());
+
+        this.windowMaximum = Math.max(1, maximum / 100);
+        this.protectedMaximum = (maximum - windowMaximum) * 8 / 10;
+        this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(expectedEntries) : null;
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<K, V> {
+        private EvictionPolicy policy = EvictionPolicy.LRU;
+        private long maximum = -1;
+        private Weigher<? super K, ? super V> weigher;
+        private long expireAfterWriteNanos = Long.MAX_VALUE;
+        private long expireAfterAccessNanos = Long.MAX_VALUE;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        public Builder<K, V> policy(EvictionPolicy policy) {
+            this.policy = Objects.requireNonNull(policy, "policy");
+            return this;
+        }
+
+        /**
+         * Limits the number of entries.
+         */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            return maximumWeight(maximumSize, null);
+        }
+
+        /**
+         * Limits the total weight of the entries as computed by a given weigher.
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("Maximum must be positive: " + maximumWeight);
+            }
+            this.maximum = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration duration) {
+            this.expireAfterWriteNanos = duration.toNanos();
+            return this;
+        }
+
+        public Builder<K, V> expireAfterAccess(Duration duration) {
+            this.expireAfterAccessNanos = duration.toNanos();
+            return this;
+        }
+
+        /**
+         * Sets the source of time in nanoseconds, System.nanoTime() by default.
+         */
+        public Builder<K, V> ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "ticker");
+            return this;
+        }
+
+        public BoundedCache<K, V> build() {
+            if (maximum <= 0) {
+                throw new IllegalStateException("Maximum size or weight is not set");
+            }
+            return new BoundedCache<>(this);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted because of the size bound or expiration.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Retrieves a value by key.
+     * @return the value for a given key; otherwise null, if the key is absent or expired.
+     */
+    public V get(K key) {
+        Node<K, V> node = table.get(key);
+        long now = ticker.getAsLong();
+        if (node != null && isExpired(node, now)) {
+            removeNode(node);
+            evictionCount++;
+            node = null;
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        node.accessTime = now;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Retrieves a value by key, computing and caching it if it is absent.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                set(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Inserts or replaces a (K,V) pair, evicting other entries if the cache exceeds its bound.
+     */
+    public void set(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        long now = ticker.getAsLong();
+        int weight = weigher == null ? 1 : weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
+        Node<K, V> node = table.get(key);
+        if (node != null) {
+            NodeList<K, V> list = node.list;
+            list.weight += weight - node.weight;
+            weightedSize += weight - node.weight;
+            node.weight = weight;
+            node.value = value;
+            node.writeTime = now;
+            node.accessTime = now;
+            onAccess(node);
+        } else {
+            node = new Node<>(key);
+            node.value = value;
+            node.weight = weight;
+            node.writeTime = now;
+            node.accessTime = now;
+            table.set(key, node);
+            size++;
+            weightedSize += weight;
+            onInsert(node);
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Removes a (K,V) pair.
+     * @return whether an element for a given key was really removed
+     */
+    public boolean remove(K key) {
+        Node<K, V> node = table.get(key);
+        if (node == null) return false;
+        removeNode(node);
+        return true;
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return now - node.writeTime >= expireAfterWriteNanos || now - node.accessTime >= expireAfterAccessNanos;
+    }
+
+    private void removeNode(Node<K, V> node) {
+        NodeList<K, V> list = node.list;
+        list.remove(node);
+        if (policy == EvictionPolicy.LFU && list.isEmpty()) {
+            unlinkFrequencyList(list);
+        }
+        table.remove(node.key);
+        size--;
+        weightedSize -= node.weight;
+    }
+
+    private void onInsert(Node<K, V> node) {
+        switch (policy) {
+            case LRU:
+            case TINY_LFU:
+                window.addLast(node);
+                break;
+            case LFU:
+                if (lowestFrequency == null || lowestFrequency.frequency != 1) {
+                    NodeList<K, V> list = new NodeList<>(FREQUENCY, 1);
+                    list.nextList = lowestFrequency;
+                    if (lowestFrequency != null) lowestFrequency.prevList = list;
+                    lowestFrequency = list;
+                }
+                lowestFrequency.addLast(node);
+                break;
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        NodeList<K, V> list = node.list;
+        switch (policy) {
+            case LRU:
+                list.remove(node);
+                list.addLast(node);
+                break;
+            case LFU: {
+                NodeList<K, V> next = list.nextList;
+                if (next == null || next.frequency != list.frequency + 1) {
+                    next = new NodeList<>(FREQUENCY, list.frequency + 1);
+                    next.prevList = list;
+                    next.nextList = list.nextList;
+                    if (list.nextList != null) list.nextList.prevList = next;
+                    list.nextList = next;
+                }
+                list.remove(node);
+                next.addLast(node);
+                if (list.isEmpty()) {
+                    unlinkFrequencyList(list);
+                }
+                break;
+            }
+            case TINY_LFU:
+                list.remove(node);
+                if (list.segment == PROBATION) {
+                    protectedSegment.addLast(node);
+                    while (protectedSegment.weight > protectedMaximum && protectedSegment.first != node) {
+                        Node<K, V> demoted = protectedSegment.first;
+                        protectedSegment.remove(demoted);
+                        probation.addLast(demoted);
+                    }
+                } else {
+                    list.addLast(node);
+                }
+                break;
+        }
+    }
+
+    private void unlinkFrequencyList(NodeList<K, V> list) {
+        if (list.prevList == null) lowestFrequency = list.nextList;
+        else list.prevList.nextList = list.nextList;
+        if (list.nextList != null) list.nextList.prevList = list.prevList;
+    }
+
+    private void evictIfNeeded() {
+        if (policy == EvictionPolicy.TINY_LFU) {
+            drainWindow();
+        }
+        while (weightedSize > maximum) {
+            removeNode(victim());
+            evictionCount++;
+        }
+    }
+
+    private Node<K, V> victim() {
+        switch (policy) {
+            case LRU:
+                return window.first;
+            case LFU:
+                return lowestFrequency.first;
+            default:
+                if (probation.first != null) return probation.first;
+                return protectedSegment.first != null ? protectedSegment.first : window.first;
+        }
+    }
+
+    /**
+     * Moves the entries that overflow the window to the probation segment. While the cache exceeds
+     * its bound, each of them (the candidate) competes with the least recently used entry of the main
+     * space, and the one estimated to be used less often is evicted.
+     */
+    private void drainWindow() {
+        while (window.weight > windowMaximum && window.first != null) {
+            Node<K, V> candidate = window.first;
+            window.remove(candidate);
+            probation.addLast(candidate);
+            if (weightedSize <= maximum) continue;
+            Node<K, V> victim = probation.first != candidate ? probation.first : protectedSegment.first;
+            if (victim == null) continue;
+            removeNode(sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate);
+            evictionCount++;
+        }
+    }
+}
@@ -1,27 +1,93 @@
 package com.epam.bsp.hashtable;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 
 /**
  * Represents a set of (K,V) pairs that were assigned to the same bin/chain/bucket.
+ * <p>
+ * A small bucket is a list that is scanned linearly. When it grows beyond
+ * TREEIFY_THRESHOLD pairs (e.g. because of a poor hashCode()), it switches to a treeified form:
+ * <ul>
+ *     <li>a balanced tree, with O(log n) lookups, if all keys are of one class whose natural
+ *     ordering is known to be consistent with equals (String, boxed primitives, BigInteger, UUID, enums);</li>
+ *     <li>a secondary hash map otherwise. It helps when the keys have different hashCodes that fall into
+ *     the same bucket, but keys with equal hashCodes still collide there, so lookups for them stay linear.</li>
+ * </ul>
+ * Classes such as BigDecimal, whose compareTo may return 0 for keys that are not equal, are never put
+ * in a tree, so keys are always matched with equals. The bucket switches back to a list when it shrinks
+ * below UNTREEIFY_THRESHOLD pairs.
  * @param <K> type of key
  * @param <V> type of value
  */
 public class Bucket<K, V> {
 
+    static final int TREEIFY_THRESHOLD = 8;
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * Key classes whose compareTo returns 0 exactly for equal keys
+     */
+    private static final Set<Class<?>> CONSISTENT_ORDER_CLASSES = Set.of(
+            String.class, Integer.class, Long.class, Short.class, Byte.class, Character.class,
+            Boolean.class, Double.class, Float.class, BigInteger.class, UUID.class);
+
     /**
-     * List of KeyValueData in the bucket.
+     * List of KeyValueData in the bucket; null if the bucket is treeified.
      */
     private List<KeyValueData<K, V>> elements;
+    /**
+     * Pairs of a treeified bucket: TreeMap if all keys are of the same class with an ordering
+     * consistent with equals, HashMap otherwise.
+     */
+    private Map<K, V> tree;
+    /**
+     * Class of the keys of a TreeMap; null if the bucket is not a TreeMap.
+     */
+    private Class<?> treeKeyClass;
 
     public Bucket() {
         this.elements = new ArrayList<>();
     }
 
+    /**
+     * Returns the pairs in the bucket. For a treeified bucket it is an unmodifiable snapshot.
+     */
     public List<KeyValueData<K, V>> getElements() {
-        return elements;
+        if (tree == null) {
+            return elements;
+        }
+        List<KeyValueData<K, V>> snapshot = new ArrayList<>(tree.size());
+        for (Map.Entry<K, V> e : tree.entrySet()) {
+            snapshot.add(new KeyValueData<>(e.getKey(), e.getValue()));
+        }
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    public int size() {
+        return tree == null ? elements.size() : tree.size();
+    }
+
+    public boolean isTreeified() {
+        return tree != null;
+    }
+
+    /**
+     * Makes room for a given number of additional pairs, so that a batch insert grows the list at most once.
+     */
+    public void ensureCapacity(int additional) {
+        if (elements instanceof ArrayList) {
+            int capacity = Math.min(elements.size() + additional, TREEIFY_THRESHOLD + 1);
+            ((ArrayList<KeyValueData<K, V>>) elements).ensureCapacity(capacity);
+        }
     }
 
     /**
@@ -30,6 +96,9 @@ public class Bucket<K, V> {
      * @return the value for a given key; otherwise null, if no corresponding (K,V) is found.
      */
     public V get(K key) {
+        if (tree != null) {
+            return fitsTree(key) ? tree.get(key) : null;
+        }
         for (KeyValueData<K, V> kv : elements) {
             if (kv.getKey().equals(key)) {
                 return kv.getValue();
@@ -43,6 +112,15 @@ public class Bucket<K, V> {
      * If the key already exists, replaces the value.
      */
     public void put(K key, V value) {
+        if (tree != null) {
+            if (!fitsTree(key)) {
+                // a key of another class cannot be compared with the tree keys
+                tree = new HashMap<>(tree);
+                treeKeyClass = null;
+            }
+            tree.put(key, value);
+            return;
+        }
         for (int i = 0; i < elements.size(); i++) {
             if (elements.get(i).getKey().equals(key)) {
                 elements.set(i, new KeyValueData<>(key, value));
@@ -50,6 +128,9 @@ public class Bucket<K, V> {
             }
         }
         elements.add(new KeyValueData<>(key, value));
+        if (elements.size() > TREEIFY_THRESHOLD) {
+            treeify();
+        }
     }
 
     /**
@@ -58,6 +139,16 @@ public class Bucket<K, V> {
      * @return whether an element for a given key was really removed
      */
     public boolean remove(K key) {
+        if (tree != null) {
+            if (!fitsTree(key) || !tree.containsKey(key)) {
+                return false;
+            }
+            tree.remove(key);
+            if (tree.size() < UNTREEIFY_THRESHOLD) {
+                untreeify();
+            }
+            return true;
+        }
         Iterator<KeyValueData<K, V>> iterator = elements.iterator();
         while (iterator.hasNext()) {
             KeyValueData<K, V> kv = iterator.next();
@@ -68,4 +159,35 @@ public class Bucket<K, V> {
         }
         return false;
     }
+
+    private boolean fitsTree(K key) {
+        return treeKeyClass == null || treeKeyClass == key.getClass();
+    }
+
+    private void treeify() {
+        Class<?> keyClass = elements.get(0).getKey().getClass();
+        boolean comparable = hasConsistentOrder(keyClass);
+        for (KeyValueData<K, V> kv : elements) {
+            comparable &= kv.getKey().getClass() == keyClass;
+        }
+        tree = comparable ? new TreeMap<>() : new HashMap<>();
+        treeKeyClass = comparable ? keyClass : null;
+        for (KeyValueData<K, V> kv : elements) {
+            tree.put(kv.getKey(), kv.getValue());
+        }
+        elements = null;
+    }
+
+    private static boolean hasConsistentOrder(Class<?> keyClass) {
+        return CONSISTENT_ORDER_CLASSES.contains(keyClass) || keyClass.isEnum();
+    }
+
+    private void untreeify() {
+        elements = new ArrayList<>(TREEIFY_THRESHOLD + 1);
+        for (Map.Entry<K, V> e : tree.entrySet()) {
+            elements.add(new KeyValueData<>(e.getKey(), e.getValue()));
+        }
+        tree = null;
+        treeKeyClass = null;
+    }
 }
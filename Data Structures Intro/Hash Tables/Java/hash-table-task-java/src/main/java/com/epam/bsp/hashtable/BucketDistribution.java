@@ -0,0 +1,79 @@
+package com.epam.bsp.hashtable;
+
+/**
+ * Report on how evenly (K,V) pairs are distributed over the buckets of a hash table.
+ */
+public class BucketDistribution {
+
+    private final int nBuckets;
+    private final int size;
+    private final int emptyBuckets;
+    private final int maxLength;
+
+    private BucketDistribution(int[] lengths) {
+        int size = 0, empty = 0, max = 0;
+        for (int length : lengths) {
+            size += length;
+            if (length == 0) empty++;
+            max = Math.max(max, length);
+        }
+        this.nBuckets = lengths.length;
+        this.size = size;
+        this.emptyBuckets = empty;
+        this.maxLength = max;
+    }
+
+    /**
+     * Builds the report for the current content of a given table.
+     */
+    public static BucketDistribution of(HashTable<?, ?> table) {
+        Bucket<?, ?>[] buckets = table.getBuckets();
+        int[] lengths = new int[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            lengths[i] = buckets[i].size();
+        }
+        return new BucketDistribution(lengths);
+    }
+
+    /**
+     * Builds the report for a given set of distinct keys hashed into nBuckets buckets.
+     */
+    public static <K> BucketDistribution of(Iterable<? extends K> keys, int nBuckets, HashFunction<? super K> hashFunction) {
+        int[] lengths = new int[nBuckets];
+        for (K key : keys) {
+            lengths[HashTable.index(hashFunction.hash(key), nBuckets)]++;
+        }
+        return new BucketDistribution(lengths);
+    }
+
+    public int getNumberOfBuckets() {
+        return nBuckets;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getEmptyBuckets() {
+        return emptyBuckets;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the average length of the non-empty buckets, i.e. the expected number of
+     * comparisons for a successful lookup of a random key is about half of it.
+     */
+    public double getAverageLength() {
+        int used = nBuckets - emptyBuckets;
+        return used == 0 ? 0 : (double) size / used;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("buckets=%d, size=%d, empty=%d, max length=%d, average length=%.2f",
+                nBuckets, size, emptyBuckets, maxLength, getAverageLength());
+    }
+}
@@ -0,0 +1,63 @@
+package com.epam.bsp.hashtable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts keys and values to bytes and back, so that they can be stored outside the heap.
+ * @param <T> type of converted objects
+ */
+public interface ByteCodec<T> {
+
+    byte[] encode(T t);
+
+    T decode(byte[] bytes);
+
+    ByteCodec<byte[]> BYTES = new ByteCodec<>() {
+        @Override
+        public byte[] encode(byte[] bytes) {
+            return bytes;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    ByteCodec<String> STRING = new ByteCodec<>() {
+        @Override
+        public byte[] encode(String s) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    ByteCodec<Integer> INTEGER = new ByteCodec<>() {
+        @Override
+        public byte[] encode(Integer i) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(i).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    ByteCodec<Long> LONG = new ByteCodec<>() {
+        @Override
+        public byte[] encode(Long l) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(l).array();
+        }
+
+        @Override
+        public Long decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+}
@@ -0,0 +1,311 @@
+package com.epam.bsp.hashtable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Thread-safe hash table implementation.
+ * Like {@link HashTable}, the table is an array of buckets holding KeyValueData pairs,
+ * but every bucket is an immutable array that is replaced on write:
+ * <ul>
+ *     <li>reads are lock-free, they just read the current array of a bucket;</li>
+ *     <li>writes lock one of a fixed number of stripes, so writers of different buckets do not block each other;</li>
+ *     <li>resizing is cooperative: buckets are moved to the new table in chunks by every writer that
+ *     runs into the resize, while readers and writers of other buckets keep going.</li>
+ * </ul>
+ * Null keys and null values are not allowed.
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class ConcurrentHashTable<K, V> {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_LOCK_STRIPES = 256;
+    /**
+     * Number of buckets a thread claims at once while helping with a resize.
+     */
+    private static final int TRANSFER_STRIDE = 64;
+
+    /**
+     * Marks a bucket of the old table that was already moved to the next table.
+     */
+    private static final KeyValueData<?, ?>[] MOVED = new KeyValueData<?, ?>[0];
+
+    private static final class Table<K, V> {
+        final AtomicReferenceArray<KeyValueData<K, V>[]> buckets;
+        final Object[] locks;
+        final int mask;
+        final int threshold;
+        /**
+         * Table the buckets are being moved to; null if no resize is in progress.
+         */
+        final AtomicReference<Table<K, V>> next = new AtomicReference<>();
+        final AtomicInteger transferIndex = new AtomicInteger();
+        final AtomicInteger transferred = new AtomicInteger();
+
+        Table(int capacity) {
+            this.buckets = new AtomicReferenceArray<>(capacity);
+            this.locks = new Object[Math.min(capacity, MAX_LOCK_STRIPES)];
+            for (int i = 0; i < locks.length; i++) {
+                locks[i] = new Object();
+            }
+            this.mask = capacity - 1;
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        Object lockFor(int bucket) {
+            return locks[bucket & (locks.length - 1)];
+        }
+    }
+
+    private final AtomicReference<Table<K, V>> table;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentHashTable(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        this.table = new AtomicReference<>(new Table<>(capacity));
+    }
+
+    public ConcurrentHashTable() {
+        this(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return (int) size.sum();
+    }
+
+    /**
+     * Retrieves a value by key without locking.
+     * @return the value for a given key; otherwise null, if no corresponding (K,V) is found.
+     */
+    public V get(K key) {
+        int h = hash(key);
+        Table<K, V> t = table.get();
+        while (true) {
+            KeyValueData<K, V>[] bucket = t.buckets.get(h & t.mask);
+            if (bucket == MOVED) {
+                t = t.next.get();
+                continue;
+            }
+            int i = indexOf(bucket, key);
+            return i >= 0 ? bucket[i].getValue() : null;
+        }
+    }
+
+    /**
+     * Inserts or replaces a (K,V) pair.
+     */
+    public void set(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        update(key, (k, old) -> value, false);
+    }
+
+    /**
+     * Removes a (K,V) pair.
+     * @return whether an element for a given key was really removed
+     */
+    public boolean remove(K key) {
+        return update(key, (k, old) -> null, false) != null;
+    }
+
+    /**
+     * Atomically inserts a (K,V) pair if the key is absent.
+     * @return the current value for a given key; null if the pair was inserted.
+     */
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        return update(key, (k, old) -> old != null ? old : value, false);
+    }
+
+    /**
+     * Atomically replaces the value for a given key with the result of the remapping function.
+     * The old value passed to the function is null if the key is absent; returning null removes the pair.
+     * The function is called under the bucket lock, so it must be short and must not access this table.
+     * @return the new value for a given key, or null if there is none.
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Objects.requireNonNull(remapping, "remapping");
+        return update(key, remapping, true);
+    }
+
+    /**
+     * Atomically inserts a given value if the key is absent, otherwise replaces the value with
+     * the result of combining the old and the given value. Returning null from the function removes the pair.
+     * @return the new value for a given key, or null if there is none.
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        Objects.requireNonNull(value, "value");
+        Objects.requireNonNull(remapping, "remapping");
+        return update(key, (k, old) -> old == null ? value : remapping.apply(old, value), true);
+    }
+
+    /**
+     * Applies a given function to the current value of a key under the bucket lock and stores the result.
+     * @return the new value if returnNew is set, otherwise the old value.
+     */
+    private V update(K key, BiFunction<? super K, ? super V, ? extends V> remapping, boolean returnNew) {
+        int h = hash(key);
+        Table<K, V> t = table.get();
+        while (true) {
+            int b = h & t.mask;
+            boolean moved = false;
+            int delta = 0;
+            V oldValue = null;
+            V newValue = null;
+            synchronized (t.lockFor(b)) {
+                KeyValueData<K, V>[] bucket = t.buckets.get(b);
+                if (bucket == MOVED) {
+                    moved = true;
+                } else {
+                    int i = indexOf(bucket, key);
+                    oldValue = i >= 0 ? bucket[i].getValue() : null;
+                    newValue = remapping.apply(key, oldValue);
+                    if (newValue != oldValue) {
+                        if (newValue == null) {
+                            t.buckets.set(b, without(bucket, i));
+                            delta = -1;
+                        } else {
+                            t.buckets.set(b, with(bucket, i, new KeyValueData<>(key, newValue)));
+                            delta = i >= 0 ? 0 : 1;
+                        }
+                    }
+                }
+            }
+            if (moved) {
+                helpTransfer(t);
+                t = t.next.get();
+                continue;
+            }
+            if (delta != 0) {
+                size.add(delta);
+            }
+            if (delta > 0) {
+                growIfNeeded();
+            }
+            return returnNew ? newValue : oldValue;
+        }
+    }
+
+    /**
+     * Starts a resize of the current table if it is overloaded, and helps a resize that is already running.
+     */
+    private void growIfNeeded() {
+        Table<K, V> t = table.get();
+        if (t.next.get() == null) {
+            if (size.sum() <= t.threshold) return;
+            t.next.compareAndSet(null, new Table<>((t.mask + 1) * 2));
+        }
+        helpTransfer(t);
+    }
+
+    /**
+     * Claims chunks of buckets of a given table and moves them to the next table
+     * until there is nothing left to claim. The thread that completes the last chunk
+     * publishes the next table.
+     */
+    private void helpTransfer(Table<K, V> t) {
+        Table<K, V> next = t.next.get();
+        int n = t.mask + 1;
+        int start;
+        while (t.transferIndex.get() < n && (start = t.transferIndex.getAndAdd(TRANSFER_STRIDE)) < n) {
+            int end = Math.min(start + TRANSFER_STRIDE, n);
+            for (int b = start; b < end; b++) {
+                transfer(t, next, b);
+            }
+            if (t.transferred.addAndGet(end - start) == n) {
+                table.compareAndSet(t, next);
+            }
+        }
+    }
+
+    /**
+     * Splits bucket b of a given table between buckets b and b + n of the twice larger next table.
+     * The next table's buckets are only published before the old one is marked as moved,
+     * so nobody can write them in the meantime.
+     */
+    @SuppressWarnings("unchecked")
+    private void transfer(Table<K, V> t, Table<K, V> next, int b) {
+        int n = t.mask + 1;
+        synchronized (t.lockFor(b)) {
+            KeyValueData<K, V>[] bucket = t.buckets.get(b);
+            if (bucket != null) {
+                int nHigh = 0;
+                for (KeyValueData<K, V> kv : bucket) {
+                    if ((hash(kv.getKey()) & n) != 0) nHigh++;
+                }
+                KeyValueData<K, V>[] low = nHigh < bucket.length ? newBucket(bucket.length - nHigh) : null;
+                KeyValueData<K, V>[] high = nHigh > 0 ? newBucket(nHigh) : null;
+                int l = 0, h = 0;
+                for (KeyValueData<K, V> kv : bucket) {
+                    if ((hash(kv.getKey()) & n) != 0) high[h++] = kv;
+                    else low[l++] = kv;
+                }
+                next.buckets.set(b, low);
+                next.buckets.set(b + n, high);
+            }
+            t.buckets.set(b, (KeyValueData<K, V>[]) MOVED);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> KeyValueData<K, V>[] newBucket(int length) {
+        return (KeyValueData<K, V>[]) new KeyValueData[length];
+    }
+
+    private static <K, V> int indexOf(KeyValueData<K, V>[] bucket, K key) {
+        if (bucket == null) return -1;
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i].getKey().equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a copy of a given bucket with the pair at index i replaced, or appended if i is negative.
+     */
+    private static <K, V> KeyValueData<K, V>[] with(KeyValueData<K, V>[] bucket, int i, KeyValueData<K, V> kv) {
+        if (bucket == null) {
+            KeyValueData<K, V>[] single = newBucket(1);
+            single[0] = kv;
+            return single;
+        }
+        KeyValueData<K, V>[] copy;
+        if (i >= 0) {
+            copy = bucket.clone();
+        } else {
+            copy = Arrays.copyOf(bucket, bucket.length + 1);
+            i = bucket.length;
+        }
+        copy[i] = kv;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of a given bucket without the pair at index i.
+     */
+    private static <K, V> KeyValueData<K, V>[] without(KeyValueData<K, V>[] bucket, int i) {
+        if (bucket.length == 1) {
+            return null;
+        }
+        KeyValueData<K, V>[] copy = newBucket(bucket.length - 1);
+        System.arraycopy(bucket, 0, copy, 0, i);
+        System.arraycopy(bucket, i + 1, copy, i, bucket.length - i - 1);
+        return copy;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,76 @@
+package com.epam.bsp.hashtable;
+
+/**
+ * Count-min sketch of 4-bit counters, packed two per byte, that estimates how often a key was seen recently.
+ * All counters are halved periodically, so the estimate favours recent popularity.
+ * Used by the W-TinyLFU admission policy of {@link BoundedCache}.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97CB3127, 0xB492B66F, 0x9AE16A3B, 0xCBF29CE4};
+
+    /**
+     * Counter i is the low (even i) or high (odd i) half of byte i / 2
+     */
+    private final byte[] counters;
+    private final int width;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedEntries) {
+        int w = 16;
+        while (w < expectedEntries && w < (1 << 24)) {
+            w <<= 1;
+        }
+        this.width = w;
+        this.counters = new byte[DEPTH * w / 2];
+        this.sampleSize = 10 * w;
+    }
+
+    void increment(Object key) {
+        int h = key.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            int i = index(h, row);
+            if (get(i) < MAX_COUNT) {
+                counters[i >>> 1] += (byte) (1 << shift(i));
+            }
+        }
+        if (++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int h = key.hashCode();
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, get(index(h, row)));
+        }
+        return min;
+    }
+
+    private int index(int h, int row) {
+        return row * width + (HashFunctions.mix(h ^ SEEDS[row]) & (width - 1));
+    }
+
+    private int get(int i) {
+        return (counters[i >>> 1] >>> shift(i)) & MAX_COUNT;
+    }
+
+    private static int shift(int i) {
+        return (i & 1) << 2;
+    }
+
+    /**
+     * Halves all counters: both halves of a byte are shifted at once, the bit that moves
+     * from the high counter into the low one is masked out.
+     */
+    private void reset() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = (byte) ((counters[i] & 0xFF) >>> 1 & 0x77);
+        }
+        additions /= 2;
+    }
+}
@@ -0,0 +1,15 @@
+package com.epam.bsp.hashtable;
+
+/**
+ * Strategy that computes the hash of a key for a hash table.
+ * See {@link HashFunctions} for the built-in implementations.
+ * @param <K> type of key
+ */
+@FunctionalInterface
+public interface HashFunction<K> {
+
+    /**
+     * Returns the hash of a given key. Equal keys must have equal hashes.
+     */
+    int hash(K key);
+}
@@ -0,0 +1,176 @@
+package com.epam.bsp.hashtable;
+
+import java.security.SecureRandom;
+
+/**
+ * Built-in hash functions.
+ */
+public final class HashFunctions {
+
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private static final int PRIME1 = 0x9E3779B1;
+    private static final int PRIME2 = 0x85EBCA77;
+    private static final int PRIME3 = 0xC2B2AE3D;
+    private static final int PRIME4 = 0x27D4EB2F;
+    private static final int PRIME5 = 0x165667B1;
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    private HashFunctions() {
+    }
+
+    /**
+     * Returns key.hashCode() as is.
+     */
+    public static <K> HashFunction<K> hashCodeFunction() {
+        return Object::hashCode;
+    }
+
+    /**
+     * Fibonacci (multiplicative) hashing of key.hashCode(): multiplies by 2^32 / golden ratio
+     * and folds the high bits into the low ones, so masking the result with a power of two
+     * does not lose the entropy of the high bits.
+     */
+    public static <K> HashFunction<K> fibonacci() {
+        return key -> {
+            int h = key.hashCode() * GOLDEN_RATIO;
+            return h ^ (h >>> 16);
+        };
+    }
+
+    /**
+     * Mixes key.hashCode() with a random seed chosen per call of this method.
+     * Bucket collisions that were crafted for one table do not carry over to another,
+     * but keys with equal hashCode() still collide: use a seeded {@link #xxHash32ForStrings(int)}
+     * or {@link #xxHash32ForBytes(int)} for untrusted String or byte[] keys.
+     */
+    public static <K> HashFunction<K> seeded() {
+        int seed = SEEDS.nextInt();
+        return key -> mix(key.hashCode() ^ seed);
+    }
+
+    /**
+     * xxHash32 of the UTF-16 code units (little-endian) of a String key.
+     */
+    public static HashFunction<String> xxHash32ForStrings(int seed) {
+        return key -> xxHash32(key, seed);
+    }
+
+    /**
+     * xxHash32 of the UTF-16 code units of a String key, with a random seed chosen per call of this method.
+     */
+    public static HashFunction<String> xxHash32ForStrings() {
+        return xxHash32ForStrings(SEEDS.nextInt());
+    }
+
+    /**
+     * xxHash32 of the content of a byte[] key.
+     */
+    public static HashFunction<byte[]> xxHash32ForBytes(int seed) {
+        return key -> xxHash32(key, seed);
+    }
+
+    /**
+     * xxHash32 of the content of a byte[] key, with a random seed chosen per call of this method.
+     */
+    public static HashFunction<byte[]> xxHash32ForBytes() {
+        return xxHash32ForBytes(SEEDS.nextInt());
+    }
+
+    /**
+     * Finalization step of MurmurHash3: every input bit affects every output bit.
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    static int xxHash32(byte[] bytes, int seed) {
+        int length = bytes.length;
+        int i = 0;
+        int h;
+        if (length >= 16) {
+            int v1 = seed + PRIME1 + PRIME2;
+            int v2 = seed + PRIME2;
+            int v3 = seed;
+            int v4 = seed - PRIME1;
+            for (; i <= length - 16; i += 16) {
+                v1 = round(v1, intAt(bytes, i));
+                v2 = round(v2, intAt(bytes, i + 4));
+                v3 = round(v3, intAt(bytes, i + 8));
+                v4 = round(v4, intAt(bytes, i + 12));
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                    + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += length;
+        for (; i <= length - 4; i += 4) {
+            h = Integer.rotateLeft(h + intAt(bytes, i) * PRIME3, 17) * PRIME4;
+        }
+        for (; i < length; i++) {
+            h = Integer.rotateLeft(h + (bytes[i] & 0xFF) * PRIME5, 11) * PRIME1;
+        }
+        return avalanche(h);
+    }
+
+    /**
+     * xxHash32 over the chars of a String as if they were little-endian byte pairs,
+     * without encoding the String into a byte[].
+     */
+    static int xxHash32(String s, int seed) {
+        int nChars = s.length();
+        int length = nChars * 2;
+        int c = 0;
+        int h;
+        if (length >= 16) {
+            int v1 = seed + PRIME1 + PRIME2;
+            int v2 = seed + PRIME2;
+            int v3 = seed;
+            int v4 = seed - PRIME1;
+            for (; c <= nChars - 8; c += 8) {
+                v1 = round(v1, s.charAt(c) | s.charAt(c + 1) << 16);
+                v2 = round(v2, s.charAt(c + 2) | s.charAt(c + 3) << 16);
+                v3 = round(v3, s.charAt(c + 4) | s.charAt(c + 5) << 16);
+                v4 = round(v4, s.charAt(c + 6) | s.charAt(c + 7) << 16);
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                    + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += length;
+        for (; c <= nChars - 2; c += 2) {
+            h = Integer.rotateLeft(h + (s.charAt(c) | s.charAt(c + 1) << 16) * PRIME3, 17) * PRIME4;
+        }
+        if (c < nChars) {
+            char last = s.charAt(c);
+            h = Integer.rotateLeft(h + (last & 0xFF) * PRIME5, 11) * PRIME1;
+            h = Integer.rotateLeft(h + (last >>> 8) * PRIME5, 11) * PRIME1;
+        }
+        return avalanche(h);
+    }
+
+    private static int round(int v, int lane) {
+        return Integer.rotateLeft(v + lane * PRIME2, 13) * PRIME1;
+    }
+
+    private static int avalanche(int h) {
+        h ^= h >>> 15;
+        h *= PRIME2;
+        h ^= h >>> 13;
+        h *= PRIME3;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int intAt(byte[] bytes, int i) {
+        return (bytes[i] & 0xFF) | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF) << 16 | (bytes[i + 3] & 0xFF) << 24;
+    }
+}
@@ -1,5 +1,11 @@
 package com.epam.bsp.hashtable;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
 /**
  * Simple hash table implementation
  * @param <K> type of key
@@ -7,6 +13,12 @@ package com.epam.bsp.hashtable;
  */
 public class HashTable<K, V> {
 
+    /**
+     * A batch is grouped by bucket only if it has at least nBuckets / GROUPING_MIN_RATIO keys;
+     * grouping costs O(nBuckets), so smaller batches are looked up key by key.
+     */
+    private static final int GROUPING_MIN_RATIO = 4;
+
     /**
      * Number of buckets
      */
@@ -15,26 +27,57 @@ public class HashTable<K, V> {
      * Array of buckets
      */
     private Bucket<K, V>[] buckets;
+    /**
+     * Hash function of the keys
+     */
+    private final HashFunction<? super K> hashFunction;
 
-    @SuppressWarnings("unchecked")
-    public HashTable(int nBuckets) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashTable(int nBuckets, HashFunction<? super K> hashFunction) {
         this.nBuckets = nBuckets;
+        this.hashFunction = hashFunction;
         this.buckets = (Bucket<K, V>[]) new Bucket[nBuckets];
         for (int i = 0; i < nBuckets; i++) {
             buckets[i] = new Bucket<>();
         }
     }
 
+    public HashTable(int nBuckets) {
+        this(nBuckets, HashFunctions.hashCodeFunction());
+    }
+
     public HashTable() {
         this(100);
     }
 
+    /**
+     * Builds a table from parallel arrays of keys and values in one pass.
+     * The number of buckets is presized to the batch (a power of two not less than the number of keys)
+     * and keys are hashed with {@link HashFunctions#fibonacci()}.
+     * If a key occurs several times, the last value wins.
+     * @param parallel whether to hash and fill the buckets in parallel on the common fork-join pool
+     */
+    public static <K, V> HashTable<K, V> bulkLoad(K[] keys, V[] values, boolean parallel) {
+        checkBatch(keys, values);
+        int nBuckets = Integer.highestOneBit(Math.max(keys.length - 1, 1)) << 1;
+        HashTable<K, V> table = new HashTable<>(nBuckets, HashFunctions.fibonacci());
+        table.putAll(keys, values, parallel);
+        return table;
+    }
+
     public Bucket<K, V>[] getBuckets() {
         return buckets;
     }
 
     private int h(K key) {
-        return (key.hashCode() % nBuckets + nBuckets) % nBuckets;
+        return index(hashFunction.hash(key), nBuckets);
+    }
+
+    /**
+     * Maps a hash to a bucket index: a mask for a power-of-two number of buckets, a modulo otherwise.
+     */
+    static int index(int hash, int nBuckets) {
+        return (nBuckets & (nBuckets - 1)) == 0 ? hash & (nBuckets - 1) : Math.floorMod(hash, nBuckets);
     }
 
     public Bucket<K, V> getBucket(K key) {
@@ -61,4 +104,134 @@ public class HashTable<K, V> {
     public boolean remove(K key) {
         return getBucket(key).remove(key);
     }
+
+    /**
+     * Inserts or replaces (K,V) pairs given as parallel arrays.
+     * A batch that is large compared with the number of buckets is grouped by bucket first,
+     * so every bucket is grown once and visited once; a small one is inserted key by key.
+     * If a key occurs several times, the last value wins.
+     */
+    public void putAll(K[] keys, V[] values) {
+        putAll(keys, values, false);
+    }
+
+    private void putAll(K[] keys, V[] values, boolean parallel) {
+        checkBatch(keys, values);
+        if (isSmallBatch(keys)) {
+            for (int i = 0; i < keys.length; i++) {
+                set(keys[i], values[i]);
+            }
+            return;
+        }
+        int[] start = new int[nBuckets + 1];
+        int[] order = groupByBucket(keys, start, parallel);
+        forEachBucket(start, parallel, b -> {
+            Bucket<K, V> bucket = buckets[b];
+            bucket.ensureCapacity(start[b + 1] - start[b]);
+            for (int i = start[b]; i < start[b + 1]; i++) {
+                bucket.put(keys[order[i]], values[order[i]]);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the values of given keys; a large batch is looked up bucket by bucket, see putAll.
+     * @return the values in the order of the keys, with null for absent keys.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> getAll(K[] keys) {
+        Object[] result = new Object[keys.length];
+        if (isSmallBatch(keys)) {
+            for (int i = 0; i < keys.length; i++) {
+                result[i] = get(keys[i]);
+            }
+            return Collections.unmodifiableList((List<V>) Arrays.asList(result));
+        }
+        int[] start = new int[nBuckets + 1];
+        int[] order = groupByBucket(keys, start, false);
+        for (int b = 0; b < nBuckets; b++) {
+            Bucket<K, V> bucket = buckets[b];
+            for (int i = start[b]; i < start[b + 1]; i++) {
+                result[order[i]] = bucket.get(keys[order[i]]);
+            }
+        }
+        return Collections.unmodifiableList((List<V>) Arrays.asList(result));
+    }
+
+    /**
+     * Removes (K,V) pairs of given keys; a large batch is removed bucket by bucket, see putAll.
+     * @return the number of removed pairs
+     */
+    public int removeAll(K[] keys) {
+        int removed = 0;
+        if (isSmallBatch(keys)) {
+            for (K key : keys) {
+                if (remove(key)) {
+                    removed++;
+                }
+            }
+            return removed;
+        }
+        int[] start = new int[nBuckets + 1];
+        int[] order = groupByBucket(keys, start, false);
+        for (int b = 0; b < nBuckets; b++) {
+            Bucket<K, V> bucket = buckets[b];
+            for (int i = start[b]; i < start[b + 1]; i++) {
+                if (bucket.remove(keys[order[i]])) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private boolean isSmallBatch(K[] keys) {
+        return (long) keys.length * GROUPING_MIN_RATIO < nBuckets;
+    }
+
+    /**
+     * Stable counting sort of key positions by bucket index.
+     * @param start filled with the offsets: positions of the keys of bucket b are order[start[b]..start[b + 1])
+     * @return the key positions ordered by bucket index
+     */
+    private int[] groupByBucket(K[] keys, int[] start, boolean parallel) {
+        int[] bucketOf = new int[keys.length];
+        if (parallel) {
+            Arrays.parallelSetAll(bucketOf, i -> h(keys[i]));
+        } else {
+            Arrays.setAll(bucketOf, i -> h(keys[i]));
+        }
+        for (int b : bucketOf) {
+            start[b + 1]++;
+        }
+        for (int b = 0; b < nBuckets; b++) {
+            start[b + 1] += start[b];
+        }
+        int[] next = Arrays.copyOf(start, nBuckets);
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[next[bucketOf[i]]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Runs an action for every bucket that has keys of the batch. In parallel mode
+     * every bucket is still processed by a single task, so buckets need no locking.
+     */
+    private void forEachBucket(int[] start, boolean parallel, IntConsumer action) {
+        IntStream indices = IntStream.range(0, nBuckets).filter(b -> start[b] < start[b + 1]);
+        if (parallel) {
+            indices.parallel().forEach(action);
+        } else {
+            indices.forEach(action);
+        }
+    }
+
+    private static void checkBatch(Object[] keys, Object[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values have different lengths: "
+                    + keys.length + " and " + values.length);
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package com.epam.bsp.hashtable;
+
+/**
+ * Hash table specialized for int keys and int values.
+ * Keys and values are stored in primitive parallel arrays (open addressing,
+ * linear probing), so neither keys nor values are boxed and no object is
+ * allocated per entry.
+ * <p>
+ * Key 0 is used to mark free slots, so an entry with key 0 is kept aside.
+ */
+public class IntHashTable {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntHashTable(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public IntHashTable() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the number of (K,V) pairs in the table.
+     */
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    /**
+     * Inserts or replaces a (K,V) pair.
+     * @throws IllegalStateException if the key is new and the table is full.
+     */
+    public void set(int key, int value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int i = slot(key);
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        checkNotFull();
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Retrieves a value by key.
+     * @return the value for a given key; otherwise defaultValue, if no corresponding (K,V) is found.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = slot(key);
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Retrieves a value by key; 0 if no corresponding (K,V) is found.
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int i = slot(key);
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a (K,V) pair.
+     * @return whether an element for a given key was really removed
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            return had;
+        }
+        int i = slot(key);
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Backward shift deletion, see {@link OpenAddressingHashTable}.
+     */
+    private void shiftBack(int gap) {
+        int i = (gap + 1) & mask;
+        int k;
+        while ((k = keys[i]) != 0) {
+            int home = slot(k);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    /**
+     * Checks that a new key can be inserted without growing the table past its maximum capacity
+     */
+    private void checkNotFull() {
+        if (size >= threshold && keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is full: " + size() + " entries");
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int k = oldKeys[j];
+            if (k != 0) {
+                int i = slot(k);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) LOAD_FACTOR) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
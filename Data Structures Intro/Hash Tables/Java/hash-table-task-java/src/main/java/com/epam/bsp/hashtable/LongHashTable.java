@@ -0,0 +1,238 @@
+package com.epam.bsp.hashtable;
+
+/**
+ * Hash table specialized for long keys and long values.
+ * Keys and values are stored in primitive parallel arrays (open addressing,
+ * linear probing), so neither keys nor values are boxed and no object is
+ * allocated per entry.
+ * <p>
+ * Key 0 is used to mark free slots, so an entry with key 0 is kept aside.
+ */
+public class LongHashTable {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongHashTable(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public LongHashTable() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the number of (K,V) pairs in the table.
+     */
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    /**
+     * Inserts or replaces a (K,V) pair.
+     * @throws IllegalStateException if the key is new and the table is full.
+     */
+    public void set(long key, long value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        checkNotFull();
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Retrieves a value by key.
+     * @return the value for a given key; otherwise defaultValue, if no corresponding (K,V) is found.
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Retrieves a value by key; 0 if no corresponding (K,V) is found.
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Adds delta to the value of a given key, inserting the key with value delta if it is absent.
+     * @return the new value
+     * @throws IllegalStateException if the key is new and the table is full.
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                return values[i] += delta;
+            }
+            i = (i + 1) & mask;
+        }
+        checkNotFull();
+        keys[i] = key;
+        values[i] = delta;
+        if (++size > threshold) {
+            rehash(keys.length * 2);
+        }
+        return delta;
+    }
+
+    /**
+     * Calls a given action for every (K,V) pair, in no particular order.
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a (K,V) pair.
+     * @return whether an element for a given key was really removed
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            return had;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Backward shift deletion, see {@link OpenAddressingHashTable}.
+     */
+    private void shiftBack(int gap) {
+        int i = (gap + 1) & mask;
+        long k;
+        while ((k = keys[i]) != 0) {
+            int home = slot(k);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    /**
+     * Checks that a new key can be inserted without growing the table past its maximum capacity
+     */
+    private void checkNotFull() {
+        if (size >= threshold && keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is full: " + size() + " entries");
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long k = oldKeys[j];
+            if (k != 0) {
+                int i = slot(k);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        return IntHashTable.capacityFor(expectedSize);
+    }
+}
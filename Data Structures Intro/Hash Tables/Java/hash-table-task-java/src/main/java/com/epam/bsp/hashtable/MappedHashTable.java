@@ -0,0 +1,330 @@
+package com.epam.bsp.hashtable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Persistent hash table stored in a memory-mapped file.
+ * Buckets and entries live outside the heap, so the table does not add to GC work,
+ * and reopening an existing file only reads its header: the pages are loaded lazily
+ * by the operating system on first access.
+ * <p>
+ * File layout (all numbers are big-endian):
+ * <pre>
+ * header     magic:8 | version:4 | nBuckets:4 | size:8 | end:8 | padding up to 64 bytes
+ * buckets    nBuckets x address:8 of the first entry in the bucket (0 if empty)
+ * entries    next:8 | hash:4 | keyLength:4 | valueLength:4 | key bytes | value bytes
+ * </pre>
+ * Entries are appended at the end and chained from their bucket. A value of the same length
+ * is overwritten in place; otherwise the entry is unlinked and a new one is appended, the space
+ * of unlinked entries is not reused.
+ * <p>
+ * The file is mapped in regions of up to 1 GB, so it can be larger than a single MappedByteBuffer.
+ * It only grows as entries are appended, doubling its size when it is full, and every region maps
+ * only the part of the file that exists, so a small table keeps a small file.
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class MappedHashTable<K, V> implements Closeable {
+
+    private static final long MAGIC = 0x4253504854424C31L; // "BSPHTBL1"
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int SIZE_OFFSET = 16;
+    private static final int END_OFFSET = 24;
+
+    private static final int ENTRY_HEADER_SIZE = 20;
+    private static final int HASH_OFFSET = 8;
+    private static final int KEY_LENGTH_OFFSET = 12;
+    private static final int VALUE_LENGTH_OFFSET = 16;
+
+    private static final int REGION_BITS = 30;
+    private static final long REGION_SIZE = 1L << REGION_BITS;
+    private static final long REGION_MASK = REGION_SIZE - 1;
+    private static final long MIN_FILE_SIZE = 4096;
+
+    private final FileChannel channel;
+    private final ByteCodec<K> keyCodec;
+    private final ByteCodec<V> valueCodec;
+    private MappedByteBuffer[] regions = new MappedByteBuffer[1];
+
+    private final int nBuckets;
+    private long size;
+    private long end;
+    /**
+     * Current size of the file; addresses up to it can be accessed
+     */
+    private long fileSize;
+
+    private MappedHashTable(FileChannel channel, int nBuckets, ByteCodec<K> keyCodec, ByteCodec<V> valueCodec)
+            throws IOException {
+        this.channel = channel;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.fileSize = channel.size();
+
+        if (fileSize == 0) {
+            this.nBuckets = nBuckets;
+            this.size = 0;
+            this.end = align(HEADER_SIZE + 8L * nBuckets);
+            ensureFileSize(end);
+            putLong(0, MAGIC);
+            putInt(8, VERSION);
+            putInt(12, nBuckets);
+            writeHeader();
+        } else {
+            if (getLong(0) != MAGIC || getInt(8) != VERSION) {
+                throw new IOException("Not a hash table file or unsupported version");
+            }
+            this.nBuckets = getInt(12);
+            this.size = getLong(SIZE_OFFSET);
+            this.end = getLong(END_OFFSET);
+        }
+    }
+
+    /**
+     * Opens the table stored in a given file, or creates a new one with nBuckets buckets
+     * if the file does not exist or is empty. The number of buckets of an existing table is kept.
+     */
+    public static <K, V> MappedHashTable<K, V> open(Path file, int nBuckets,
+                                                    ByteCodec<K> keyCodec, ByteCodec<V> valueCodec)
+            throws IOException {
+        if (nBuckets <= 0) {
+            throw new IllegalArgumentException("Number of buckets must be positive: " + nBuckets);
+        }
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedHashTable<>(channel, nBuckets, keyCodec, valueCodec);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Inserts or replaces a (K,V) pair.
+     */
+    public void set(K key, V value) {
+        byte[] keyBytes = keyCodec.encode(key);
+        byte[] valueBytes = valueCodec.encode(value);
+        long length = ENTRY_HEADER_SIZE + (long) keyBytes.length + valueBytes.length;
+        if (length > REGION_SIZE) {
+            throw new IllegalArgumentException("Entry is too large: " + length + " bytes");
+        }
+        int hash = hash(keyBytes);
+        long bucket = bucketAddress(hash);
+
+        long entry = find(bucket, hash, keyBytes);
+        if (entry != 0 && getInt(entry + VALUE_LENGTH_OFFSET) == valueBytes.length) {
+            putBytes(entry + ENTRY_HEADER_SIZE + keyBytes.length, valueBytes);
+            return;
+        }
+
+        // the old entry is unlinked only once the new one is allocated, so a failed set keeps the old mapping
+        long address = allocate(length);
+        if (entry != 0) {
+            unlink(bucket, entry);
+            size--;
+        }
+        putLong(address, getLong(bucket));
+        putInt(address + HASH_OFFSET, hash);
+        putInt(address + KEY_LENGTH_OFFSET, keyBytes.length);
+        putInt(address + VALUE_LENGTH_OFFSET, valueBytes.length);
+        putBytes(address + ENTRY_HEADER_SIZE, keyBytes);
+        putBytes(address + ENTRY_HEADER_SIZE + keyBytes.length, valueBytes);
+        putLong(bucket, address);
+        size++;
+        writeHeader();
+    }
+
+    /**
+     * Retrieves a value by key.
+     * @return the value for a given key; otherwise null, if no corresponding (K,V) is found.
+     */
+    public V get(K key) {
+        byte[] keyBytes = keyCodec.encode(key);
+        int hash = hash(keyBytes);
+        long entry = find(bucketAddress(hash), hash, keyBytes);
+        if (entry == 0) return null;
+        byte[] valueBytes = new byte[getInt(entry + VALUE_LENGTH_OFFSET)];
+        getBytes(entry + ENTRY_HEADER_SIZE + keyBytes.length, valueBytes);
+        return valueCodec.decode(valueBytes);
+    }
+
+    /**
+     * Removes a (K,V) pair.
+     * @return whether an element for a given key was really removed
+     */
+    public boolean remove(K key) {
+        byte[] keyBytes = keyCodec.encode(key);
+        int hash = hash(keyBytes);
+        long bucket = bucketAddress(hash);
+        long entry = find(bucket, hash, keyBytes);
+        if (entry == 0) return false;
+        unlink(bucket, entry);
+        size--;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    public void force() {
+        for (MappedByteBuffer region : regions) {
+            if (region != null) {
+                region.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        regions = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    private long find(long bucket, int hash, byte[] keyBytes) {
+        long entry = getLong(bucket);
+        while (entry != 0) {
+            if (getInt(entry + HASH_OFFSET) == hash
+                    && getInt(entry + KEY_LENGTH_OFFSET) == keyBytes.length
+                    && keyEquals(entry + ENTRY_HEADER_SIZE, keyBytes)) {
+                return entry;
+            }
+            entry = getLong(entry);
+        }
+        return 0;
+    }
+
+    private boolean keyEquals(long address, byte[] keyBytes) {
+        byte[] stored = new byte[keyBytes.length];
+        getBytes(address, stored);
+        return Arrays.equals(stored, keyBytes);
+    }
+
+    /**
+     * Removes a given entry from the chain of a bucket.
+     */
+    private void unlink(long bucket, long entry) {
+        long next = getLong(entry);
+        long link = bucket;
+        long current = getLong(bucket);
+        while (current != entry) {
+            link = current;
+            current = getLong(current);
+        }
+        putLong(link, next);
+    }
+
+    /**
+     * Reserves length bytes at the end of the file. An entry never crosses a region boundary.
+     */
+    private long allocate(long length) {
+        long address = end;
+        if ((address & REGION_MASK) + length > REGION_SIZE) {
+            address = (address | REGION_MASK) + 1;
+        }
+        end = align(address + length);
+        ensureFileSize(end);
+        return address;
+    }
+
+    /**
+     * Extends the file to at least a given size, at least doubling it, and drops the mapping
+     * of the last region so that it is mapped again with the new size.
+     */
+    private void ensureFileSize(long required) {
+        if (required <= fileSize) return;
+        long newSize = Math.max(required, Math.max(MIN_FILE_SIZE, 2 * fileSize));
+        try {
+            channel.write(ByteBuffer.wrap(new byte[1]), newSize - 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (fileSize > 0) {
+            int last = (int) ((fileSize - 1) >>> REGION_BITS);
+            if (last < regions.length) {
+                regions[last] = null;
+            }
+        }
+        fileSize = newSize;
+    }
+
+    private void writeHeader() {
+        putLong(SIZE_OFFSET, size);
+        putLong(END_OFFSET, end);
+    }
+
+    private long bucketAddress(int hash) {
+        return HEADER_SIZE + 8L * Math.floorMod(hash, nBuckets);
+    }
+
+    /**
+     * Hash of the key bytes; it must not depend on the JVM since it is stored in the file.
+     */
+    private static int hash(byte[] bytes) {
+        int h = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static long align(long address) {
+        return (address + 7) & ~7L;
+    }
+
+    private MappedByteBuffer region(long address) {
+        int index = (int) (address >>> REGION_BITS);
+        if (index >= regions.length) {
+            regions = Arrays.copyOf(regions, Math.max(index + 1, regions.length * 2));
+        }
+        MappedByteBuffer region = regions[index];
+        if (region == null) {
+            try {
+                long offset = (long) index << REGION_BITS;
+                region = channel.map(FileChannel.MapMode.READ_WRITE, offset, Math.min(REGION_SIZE, fileSize - offset));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            regions[index] = region;
+        }
+        return region;
+    }
+
+    private long getLong(long address) {
+        return region(address).getLong((int) (address & REGION_MASK));
+    }
+
+    private void putLong(long address, long value) {
+        region(address).putLong((int) (address & REGION_MASK), value);
+    }
+
+    private int getInt(long address) {
+        return region(address).getInt((int) (address & REGION_MASK));
+    }
+
+    private void putInt(long address, int value) {
+        region(address).putInt((int) (address & REGION_MASK), value);
+    }
+
+    private void getBytes(long address, byte[] dst) {
+        region(address).get((int) (address & REGION_MASK), dst);
+    }
+
+    private void putBytes(long address, byte[] src) {
+        region(address).put((int) (address & REGION_MASK), src);
+    }
+}
@@ -0,0 +1,257 @@
+package com.epam.bsp.hashtable;
+
+import java.util.Objects;
+
+/**
+ * Open addressing hash table implementation with linear probing.
+ * Keys and values are stored in flat parallel arrays, so a lookup touches
+ * one or a few adjacent slots instead of walking a chain of buckets.
+ * <p>
+ * When the load factor is exceeded the table doubles its capacity and
+ * migrates the old slots incrementally: every write moves a few of them,
+ * so no single operation pays for the whole rehash.
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class OpenAddressingHashTable<K, V> {
+
+    /**
+     * Marks a slot of the old table whose entry was migrated or removed.
+     */
+    private static final Object TOMBSTONE = new Object();
+    /**
+     * Number of old slots migrated on each write during a resize.
+     */
+    private static final int MIGRATION_STEP = 8;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final float loadFactor;
+
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+
+    /**
+     * Table that is being migrated into keys/values; null if no resize is in progress.
+     */
+    private Object[] oldKeys;
+    private Object[] oldValues;
+    private int oldMask;
+    private int migrationIndex;
+
+    private int size;
+
+    public OpenAddressingHashTable(int expectedSize, float loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be in (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(expectedSize, loadFactor));
+    }
+
+    public OpenAddressingHashTable(int expectedSize) {
+        this(expectedSize, 0.5f);
+    }
+
+    public OpenAddressingHashTable() {
+        this(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inserts or replaces a (K,V) pair.
+     * @throws IllegalStateException if the key is new and the table is full.
+     */
+    public void set(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        migrate();
+
+        int slot = find(keys, mask, key);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+        if (oldKeys != null) {
+            int oldSlot = find(oldKeys, oldMask, key);
+            if (oldSlot >= 0) {
+                oldKeys[oldSlot] = TOMBSTONE;
+                oldValues[oldSlot] = null;
+                size--;
+            }
+        }
+        if (size >= threshold) {
+            startResize();
+        }
+        insert(keys, values, mask, key, value);
+        size++;
+    }
+
+    /**
+     * Retrieves a value by key.
+     * @return the value for a given key; otherwise null, if no corresponding (K,V) is found.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Objects.requireNonNull(key, "key");
+        int slot = find(keys, mask, key);
+        if (slot >= 0) {
+            return (V) values[slot];
+        }
+        if (oldKeys != null) {
+            slot = find(oldKeys, oldMask, key);
+            if (slot >= 0) {
+                return (V) oldValues[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a (K,V) pair.
+     * @return whether an element for a given key was really removed
+     */
+    public boolean remove(K key) {
+        Objects.requireNonNull(key, "key");
+        migrate();
+
+        int slot = find(keys, mask, key);
+        if (slot >= 0) {
+            shiftBack(slot);
+            size--;
+            return true;
+        }
+        if (oldKeys != null) {
+            slot = find(oldKeys, oldMask, key);
+            if (slot >= 0) {
+                oldKeys[slot] = TOMBSTONE;
+                oldValues[slot] = null;
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * loadFactor);
+    }
+
+    private void startResize() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is full: " + size + " entries");
+        }
+        if (oldKeys != null) {
+            // the previous resize is still running: finish it before starting a new one
+            migrationIndex = oldKeys.length;
+            finishMigration();
+        }
+        oldKeys = keys;
+        oldValues = values;
+        oldMask = mask;
+        migrationIndex = 0;
+        allocate(keys.length * 2);
+    }
+
+    /**
+     * Moves the next MIGRATION_STEP slots of the old table into the current one.
+     */
+    private void migrate() {
+        if (oldKeys == null) return;
+        int end = Math.min(migrationIndex + MIGRATION_STEP, oldKeys.length);
+        for (int i = migrationIndex; i < end; i++) {
+            moveOldSlot(i);
+        }
+        migrationIndex = end;
+        if (migrationIndex == oldKeys.length) {
+            finishMigration();
+        }
+    }
+
+    private void finishMigration() {
+        for (int i = 0; i < oldKeys.length; i++) {
+            moveOldSlot(i);
+        }
+        oldKeys = null;
+        oldValues = null;
+    }
+
+    private void moveOldSlot(int i) {
+        Object k = oldKeys[i];
+        if (k != null && k != TOMBSTONE) {
+            insert(keys, values, mask, k, oldValues[i]);
+            // the old table is never probed for empty slots, so a tombstone keeps its chains intact
+            oldKeys[i] = TOMBSTONE;
+            oldValues[i] = null;
+        }
+    }
+
+    /**
+     * Backward shift deletion: closes the gap at a given slot by moving later
+     * entries of the same probe chain one step closer to their home slot.
+     */
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int i = (slot + 1) & mask;
+        while (keys[i] != null) {
+            int home = hash(keys[i]) & mask;
+            // move the entry if its home slot is not in the cyclic range (gap, i]
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = null;
+        values[gap] = null;
+    }
+
+    private static int find(Object[] keys, int mask, Object key) {
+        int i = hash(key) & mask;
+        Object k;
+        while ((k = keys[i]) != null) {
+            if (k != TOMBSTONE && k.equals(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static void insert(Object[] keys, Object[] values, int mask, Object key, Object value) {
+        int i = hash(key) & mask;
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Spreads the bits of hashCode() so that masking keeps the high-bit entropy.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int capacityFor(int expectedSize, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) loadFactor) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -1,6 +1,11 @@
 package com.epam.bsp.linked.list;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 public class CustomLinkedList<E> {
 
@@ -14,6 +19,11 @@ public class CustomLinkedList<E> {
         }
     }
 
+    /**
+     * Minimal number of elements for which parallelRemoveIf splits the list
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
     protected CustomListNode<E> head;
 
     /**
@@ -56,6 +66,110 @@ public class CustomLinkedList<E> {
         return this;
     }
 
+    /**
+     * Removes all nodes whose element matches given predicate, in a single pass
+     */
+    public CustomLinkedList<E> removeIf(Predicate<? super E> filter) {
+        head = removeIf(head, filter, null);
+        return this;
+    }
+
+    /**
+     * Removes all nodes that contain any of given elements, in a single pass
+     */
+    public CustomLinkedList<E> removeAll(Collection<?> elements) {
+        Set<?> targets = new HashSet<>(elements);
+        return removeIf(targets::contains);
+    }
+
+    /**
+     * Same as removeIf, but a long list is split into segments that are filtered in parallel
+     * and then linked back together.
+     * The predicate must be safe to call from several threads.
+     */
+    public CustomLinkedList<E> parallelRemoveIf(Predicate<? super E> filter) {
+        int size = 0;
+        for (CustomListNode<E> curr = head; curr != null; curr = curr.next) {
+            size++;
+        }
+        int nSegments = Math.min(size / PARALLEL_THRESHOLD, 4 * Runtime.getRuntime().availableProcessors());
+        if (nSegments < 2) {
+            return removeIf(filter);
+        }
+
+        // cut the list into segments of equal length
+        CustomListNode<E>[] heads = newNodes(nSegments);
+        CustomListNode<E> curr = head;
+        for (int s = 0; s < nSegments; s++) {
+            heads[s] = curr;
+            int length = size / nSegments + (s < size % nSegments ? 1 : 0);
+            for (int i = 1; i < length; i++) {
+                curr = curr.next;
+            }
+            CustomListNode<E> next = curr.next;
+            curr.next = null;
+            curr = next;
+        }
+
+        CustomListNode<E>[] tails = newNodes(nSegments);
+        IntStream.range(0, nSegments).parallel().forEach(s -> {
+            CustomListNode<E>[] tail = newNodes(1);
+            heads[s] = removeIf(heads[s], filter, tail);
+            tails[s] = tail[0];
+        });
+
+        // link the filtered segments back together
+        head = null;
+        CustomListNode<E> last = null;
+        for (int s = 0; s < nSegments; s++) {
+            if (heads[s] == null) continue;
+            if (last == null) head = heads[s];
+            else last.next = heads[s];
+            last = tails[s];
+        }
+        return this;
+    }
+
+    /**
+     * Removes the matching nodes from the list starting at given node
+     * @param tail if not null, receives the last kept node
+     * @return the first kept node
+     */
+    private static <E> CustomListNode<E> removeIf(CustomListNode<E> first, Predicate<? super E> filter,
+                                                  CustomListNode<E>[] tail) {
+        while (first != null && filter.test(first.element)) {
+            first = first.next;
+        }
+        CustomListNode<E> current = first;
+        while (current != null && current.next != null) {
+            if (filter.test(current.next.element)) {
+                current.next = current.next.next;
+            } else {
+                current = current.next;
+            }
+        }
+        if (tail != null) {
+            tail[0] = current;
+        }
+        return first;
+    }
+
+    /**
+     * Creates an array of given length for nodes of type E
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <E> CustomListNode<E>[] newNodes(int length) {
+        return new CustomListNode[length];
+    }
+
+    /**
+     * Returns a lazy pipeline of filter and map steps over the elements of this list.
+     * The steps are fused and run in a single pass when a terminal operation is called.
+     */
+    public ListPipeline<E, E> pipeline() {
+        return new ListPipeline<>(this, e -> e);
+    }
+
     /**
      * Reverses the linked list
      */
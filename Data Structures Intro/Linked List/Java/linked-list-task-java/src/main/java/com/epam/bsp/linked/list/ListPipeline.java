@@ -0,0 +1,79 @@
+package com.epam.bsp.linked.list;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Lazy chain of filter and map steps over a {@link CustomLinkedList}.
+ * The steps are composed into a single function, so a terminal operation walks
+ * the source list once and creates no intermediate lists.
+ * @param <E> type of the source elements
+ * @param <T> type of the elements after the steps
+ */
+public class ListPipeline<E, T> {
+
+    /**
+     * Result of the composed function for an element that was filtered out
+     */
+    private static final Object SKIP = new Object();
+
+    private final CustomLinkedList<E> source;
+    private final Function<? super E, Object> steps;
+
+    ListPipeline(CustomLinkedList<E> source, Function<? super E, Object> steps) {
+        this.source = source;
+        this.steps = steps;
+    }
+
+    /**
+     * Keeps only the elements that match given predicate
+     */
+    @SuppressWarnings("unchecked")
+    public ListPipeline<E, T> filter(Predicate<? super T> predicate) {
+        return new ListPipeline<>(source, e -> {
+            Object t = steps.apply(e);
+            return t == SKIP || !predicate.test((T) t) ? SKIP : t;
+        });
+    }
+
+    /**
+     * Replaces every element with the result of given function
+     */
+    @SuppressWarnings("unchecked")
+    public <R> ListPipeline<E, R> map(Function<? super T, ? extends R> mapper) {
+        return new ListPipeline<>(source, e -> {
+            Object t = steps.apply(e);
+            return t == SKIP ? SKIP : mapper.apply((T) t);
+        });
+    }
+
+    /**
+     * Runs the steps and passes every resulting element to given action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (CustomLinkedList.CustomListNode<E> curr = source.head; curr != null; curr = curr.next) {
+            Object t = steps.apply(curr.element);
+            if (t != SKIP) {
+                action.accept((T) t);
+            }
+        }
+    }
+
+    /**
+     * Runs the steps and links the resulting elements into a new list
+     */
+    public CustomLinkedList<T> toList() {
+        CustomLinkedList<T> result = new CustomLinkedList<>(List.of());
+        CustomLinkedList.CustomListNode<T>[] last = CustomLinkedList.newNodes(1);
+        forEach(t -> {
+            CustomLinkedList.CustomListNode<T> node = new CustomLinkedList.CustomListNode<>(t, null);
+            if (last[0] == null) result.head = node;
+            else last[0].next = node;
+            last[0] = node;
+        });
+        return result;
+    }
+}
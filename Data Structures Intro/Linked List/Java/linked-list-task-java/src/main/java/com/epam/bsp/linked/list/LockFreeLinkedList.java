@@ -0,0 +1,163 @@
+package com.epam.bsp.linked.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lock-free sorted linked list of distinct elements (Harris-Michael algorithm),
+ * safe to share between threads without locking.
+ * <p>
+ * A node is removed in two steps: first the mark bit of its next reference is set (logical deletion),
+ * so no node can be linked after it anymore, then it is unlinked from its predecessor.
+ * Any thread that runs into a marked node while searching helps to unlink it.
+ * <p>
+ * Null elements are not allowed.
+ */
+public class LockFreeLinkedList<E extends Comparable<? super E>> {
+
+    private static class Node<E> {
+        final E element;
+        final AtomicMarkableReference<Node<E>> next;
+
+        Node(E element, Node<E> next) {
+            this.element = element;
+            this.next = new AtomicMarkableReference<>(next, false);
+        }
+    }
+
+    /**
+     * Pair of adjacent nodes found by a search: pred.element < element <= curr.element
+     */
+    private static class Window<E> {
+        final Node<E> pred;
+        final Node<E> curr;
+
+        Window(Node<E> pred, Node<E> curr) {
+            this.pred = pred;
+            this.curr = curr;
+        }
+    }
+
+    /**
+     * Sentinel node that precedes all elements
+     */
+    private final Node<E> head = new Node<>(null, null);
+
+    /**
+     * Constructor: create linked list from given list of elements; duplicates are dropped
+     */
+    public LockFreeLinkedList(List<E> elements) {
+        if (elements == null) return;
+        for (E e : elements) {
+            add(e);
+        }
+    }
+
+    /**
+     * Inserts given element at its sorted position.
+     * @return false if the element is already in the list
+     */
+    public boolean add(E element) {
+        while (true) {
+            Window<E> w = find(element);
+            if (w.curr != null && w.curr.element.compareTo(element) == 0) {
+                return false;
+            }
+            Node<E> node = new Node<>(element, w.curr);
+            if (w.pred.next.compareAndSet(w.curr, node, false, false)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the node that contains given element: the concurrent counterpart of
+     * {@link CustomLinkedList#removeNodes(Object)} for a list of distinct elements.
+     * @return whether the element was in the list and this call removed it
+     */
+    public boolean remove(E element) {
+        while (true) {
+            Window<E> w = find(element);
+            if (w.curr == null || w.curr.element.compareTo(element) != 0) {
+                return false;
+            }
+            Node<E> succ = w.curr.next.getReference();
+            if (!w.curr.next.compareAndSet(succ, succ, false, true)) {
+                continue;
+            }
+            // if this fails, a later search unlinks the node
+            w.pred.next.compareAndSet(w.curr, succ, false, false);
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether given element is in the list. Wait-free: it never modifies the list or retries.
+     */
+    public boolean contains(E element) {
+        Node<E> curr = head.next.getReference();
+        while (curr != null && curr.element.compareTo(element) < 0) {
+            curr = curr.next.getReference();
+        }
+        return curr != null && curr.element.compareTo(element) == 0 && !curr.next.isMarked();
+    }
+
+    /**
+     * Returns the elements that are not logically deleted, in sorted order.
+     * Under concurrent updates this is not an atomic snapshot.
+     */
+    public List<E> toList() {
+        List<E> result = new ArrayList<>();
+        for (Node<E> curr = head.next.getReference(); curr != null; curr = curr.next.getReference()) {
+            if (!curr.next.isMarked()) {
+                result.add(curr.element);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return toList().size();
+    }
+
+    /**
+     * Checks if linked list elements equal to given list elements (order matters)
+     */
+    public boolean check(List<E> elements) {
+        return toList().equals(elements);
+    }
+
+    /**
+     * Finds the window for given element, unlinking the marked nodes on the way.
+     */
+    private Window<E> find(E element) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<E> pred = head;
+            Node<E> curr = pred.next.getReference();
+            while (true) {
+                if (curr == null) {
+                    return new Window<>(pred, null);
+                }
+                Node<E> succ = curr.next.get(marked);
+                while (marked[0]) {
+                    if (!pred.next.compareAndSet(curr, succ, false, false)) {
+                        continue retry;
+                    }
+                    curr = succ;
+                    if (curr == null) {
+                        return new Window<>(pred, null);
+                    }
+                    succ = curr.next.get(marked);
+                }
+                if (curr.element.compareTo(element) >= 0) {
+                    return new Window<>(pred, curr);
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.epam.bsp.linked.list;
+
+import java.util.List;
+
+/**
+ * Unrolled variant of {@link CustomLinkedList}: every node holds up to NODE_CAPACITY elements
+ * in an array, so traversals scan contiguous memory and there is one node object per chunk
+ * instead of one per element.
+ */
+public class UnrolledLinkedList<E> {
+
+    protected static final int NODE_CAPACITY = 64;
+
+    protected static class UnrolledNode<E> {
+        protected Object[] elements;
+        protected int count;
+        protected UnrolledNode<E> next;
+
+        public UnrolledNode(UnrolledNode<E> next) {
+            this.elements = new Object[NODE_CAPACITY];
+            this.next = next;
+        }
+
+        @SuppressWarnings("unchecked")
+        protected E get(int i) {
+            return (E) elements[i];
+        }
+    }
+
+    protected UnrolledNode<E> head;
+
+    /**
+     * Constructor: create linked list from given list of elements
+     */
+    public UnrolledLinkedList(List<E> elements) {
+        head = null;
+        if (elements == null || elements.isEmpty()) return;
+
+        UnrolledNode<E> current = null;
+        for (E e : elements) {
+            if (current == null || current.count == NODE_CAPACITY) {
+                UnrolledNode<E> newNode = new UnrolledNode<>(null);
+                if (head == null) {
+                    head = newNode;
+                } else {
+                    current.next = newNode;
+                }
+                current = newNode;
+            }
+            current.elements[current.count++] = e;
+        }
+    }
+
+    /**
+     * Removes all elements equal to given element.
+     * Every node is compacted in place; a node that becomes empty is unlinked
+     * and a node that falls under half capacity is merged with the next one if they fit together.
+     */
+    public UnrolledLinkedList<E> removeNodes(E element) {
+        UnrolledNode<E> prev = null;
+        UnrolledNode<E> curr = head;
+        while (curr != null) {
+            int kept = 0;
+            for (int i = 0; i < curr.count; i++) {
+                Object e = curr.elements[i];
+                if (!(e == null ? element == null : e.equals(element))) {
+                    curr.elements[kept++] = e;
+                }
+            }
+            for (int i = kept; i < curr.count; i++) {
+                curr.elements[i] = null;
+            }
+            curr.count = kept;
+
+            if (curr.count == 0) {
+                if (prev == null) head = curr.next;
+                else prev.next = curr.next;
+                curr = curr.next;
+                continue;
+            }
+            if (prev != null && prev.count < NODE_CAPACITY / 2 && prev.count + curr.count <= NODE_CAPACITY) {
+                System.arraycopy(curr.elements, 0, prev.elements, prev.count, curr.count);
+                prev.count += curr.count;
+                prev.next = curr.next;
+                curr = curr.next;
+                continue;
+            }
+            prev = curr;
+            curr = curr.next;
+        }
+        return this;
+    }
+
+    /**
+     * Reverses the linked list: the order of the nodes and the elements within every node
+     */
+    public UnrolledLinkedList<E> reverse() {
+        UnrolledNode<E> prev = null;
+        UnrolledNode<E> curr = head;
+        while (curr != null) {
+            Object[] a = curr.elements;
+            for (int i = 0, j = curr.count - 1; i < j; i++, j--) {
+                Object t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+            UnrolledNode<E> next = curr.next;
+            curr.next = prev;
+            prev = curr;
+            curr = next;
+        }
+        head = prev;
+        return this;
+    }
+
+    /**
+     * Returns the linked list starting from the middle (if two middles, use second).
+     * Like {@link CustomLinkedList#getRightMiddle()} the result shares the nodes after the middle one,
+     * the middle node itself is copied from the middle element.
+     */
+    public UnrolledLinkedList<E> getRightMiddle() {
+        if (head == null) return this;
+
+        int size = 0;
+        for (UnrolledNode<E> node = head; node != null; node = node.next) {
+            size += node.count;
+        }
+
+        int skip = size / 2;
+        UnrolledNode<E> node = head;
+        while (skip >= node.count) {
+            skip -= node.count;
+            node = node.next;
+        }
+
+        UnrolledLinkedList<E> result = new UnrolledLinkedList<>(List.of());
+        if (skip == 0) {
+            result.head = node;
+        } else {
+            UnrolledNode<E> first = new UnrolledNode<>(node.next);
+            first.count = node.count - skip;
+            System.arraycopy(node.elements, skip, first.elements, 0, first.count);
+            result.head = first;
+        }
+        return result;
+    }
+
+    /**
+     * Checks if linked list elements equal to given list elements (order matters)
+     */
+    public boolean check(List<E> elements) {
+        UnrolledNode<E> node = head;
+        int i = 0;
+        for (E element : elements) {
+            while (node != null && i == node.count) {
+                node = node.next;
+                i = 0;
+            }
+            if (node == null) return false;
+            E e = node.get(i++);
+            if (!(element == null ? e == null : element.equals(e))) {
+                return false;
+            }
+        }
+        while (node != null && i == node.count) {
+            node = node.next;
+            i = 0;
+        }
+        return node == null;
+    }
+}
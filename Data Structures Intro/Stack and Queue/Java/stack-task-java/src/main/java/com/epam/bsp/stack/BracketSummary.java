@@ -0,0 +1,96 @@
+package com.epam.bsp.stack;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * What a chunk of the input leaves unmatched, so that chunks can be validated independently and combined:
+ * <ul>
+ *     <li>the closing brackets that have no opening bracket within the chunk, with their positions, in order;</li>
+ *     <li>the opening brackets that are not closed within the chunk, as a stack of bracket types;</li>
+ *     <li>the position of the first closing bracket that meets an opening bracket of another type, if any.
+ *     The scan stops there, so all the unmatched closing brackets come before it.</li>
+ * </ul>
+ */
+final class BracketSummary {
+
+    long[] closerPositions = new long[4];
+    byte[] closerTypes = new byte[4];
+    int nClosers;
+    byte[] openers = new byte[16];
+    int nOpeners;
+    long error = BracketValidator.VALID;
+
+    /**
+     * Summarizes the bytes [start, end) of a buffer; positions are offset by a given base.
+     */
+    static BracketSummary of(ByteBuffer buffer, int start, int end, long base) {
+        BracketSummary summary = new BracketSummary();
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b < 0) continue;
+            byte type = BracketValidator.OPEN[b];
+            if (type != 0) {
+                summary.pushOpener(type);
+                continue;
+            }
+            type = BracketValidator.CLOSE[b];
+            if (type == 0) continue;
+            if (summary.nOpeners == 0) {
+                summary.addCloser(type, base + i - start);
+                // nothing before the first chunk can match it: it is the first error
+                if (base == 0) break;
+            } else if (summary.openers[--summary.nOpeners] != type) {
+                summary.error = base + i - start;
+                break;
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Appends the summary of the chunk right after this one and returns this summary.
+     * The closing brackets left by the next chunk are matched against the opening brackets left by this one.
+     */
+    BracketSummary append(BracketSummary next) {
+        if (error != BracketValidator.VALID) return this;
+        for (int i = 0; i < next.nClosers; i++) {
+            if (nOpeners == 0) {
+                addCloser(next.closerTypes[i], next.closerPositions[i]);
+            } else if (openers[--nOpeners] != next.closerTypes[i]) {
+                error = next.closerPositions[i];
+                return this;
+            }
+        }
+        for (int i = 0; i < next.nOpeners; i++) {
+            pushOpener(next.openers[i]);
+        }
+        error = next.error;
+        return this;
+    }
+
+    /**
+     * Returns the position of the first error in the input described by this summary, see {@link BracketValidator}.
+     */
+    long firstError(long length) {
+        if (nClosers > 0) return closerPositions[0];
+        if (error != BracketValidator.VALID) return error;
+        return nOpeners > 0 ? length : BracketValidator.VALID;
+    }
+
+    private void pushOpener(byte type) {
+        if (nOpeners == openers.length) {
+            openers = Arrays.copyOf(openers, nOpeners * 2);
+        }
+        openers[nOpeners++] = type;
+    }
+
+    private void addCloser(byte type, long position) {
+        if (nClosers == closerTypes.length) {
+            closerTypes = Arrays.copyOf(closerTypes, nClosers * 2);
+            closerPositions = Arrays.copyOf(closerPositions, nClosers * 2);
+        }
+        closerTypes[nClosers] = type;
+        closerPositions[nClosers++] = position;
+    }
+}
@@ -0,0 +1,185 @@
+package com.epam.bsp.stack;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Checks that the brackets (), [] and {} of an input are balanced and properly nested,
+ * without holding the input in memory. Unlike {@link Solution#isValidParentheses(String)},
+ * all other characters are ignored.
+ * <p>
+ * The result is the position of the first error, or VALID:
+ * the first closing bracket without a matching opening bracket, or the length of the input
+ * if some opening brackets are not closed. Buffers and files are read as bytes, so their
+ * positions are byte offsets; as the brackets are ASCII, this works for UTF-8 input too.
+ * <p>
+ * An instance validates an input fed in parts. The static methods validate whole inputs; in parallel mode
+ * a buffer or file is split into chunks, every chunk is reduced to a {@link BracketSummary} of what it leaves
+ * unmatched, and the summaries are combined in order by a fork-join reduction.
+ */
+public class BracketValidator {
+
+    public static final long VALID = -1;
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    /**
+     * Largest chunk of a file mapped at once
+     */
+    private static final int MAX_CHUNK_SIZE = 1 << 26;
+
+    /**
+     * Bracket type (1, 2 or 3) of an opening / closing ASCII character, 0 for other characters
+     */
+    static final byte[] OPEN = new byte[128];
+    static final byte[] CLOSE = new byte[128];
+
+    static {
+        OPEN['('] = 1;
+        OPEN['['] = 2;
+        OPEN['{'] = 3;
+        CLOSE[')'] = 1;
+        CLOSE[']'] = 2;
+        CLOSE['}'] = 3;
+    }
+
+    private byte[] openers = new byte[16];
+    private int nOpeners;
+    private long position;
+    private long error = VALID;
+
+    /**
+     * Validates the next character of the input.
+     */
+    public void accept(int c) {
+        if (error != VALID) return;
+        if (c >= 0 && c < 128) {
+            byte type = OPEN[c];
+            if (type != 0) {
+                if (nOpeners == openers.length) {
+                    openers = Arrays.copyOf(openers, nOpeners * 2);
+                }
+                openers[nOpeners++] = type;
+            } else {
+                type = CLOSE[c];
+                if (type != 0 && (nOpeners == 0 || openers[--nOpeners] != type)) {
+                    error = position;
+                }
+            }
+        }
+        position++;
+    }
+
+    public BracketValidator feed(CharSequence input) {
+        for (int i = 0; i < input.length() && error == VALID; i++) {
+            accept(input.charAt(i));
+        }
+        return this;
+    }
+
+    public BracketValidator feed(Reader reader) throws IOException {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int n;
+        while (error == VALID && (n = reader.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++) {
+                accept(buffer[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Feeds the remaining bytes of a buffer, without changing its position.
+     */
+    public BracketValidator feed(ByteBuffer buffer) {
+        for (int i = buffer.position(); i < buffer.limit() && error == VALID; i++) {
+            accept(buffer.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the position of the first error in the input fed so far, taken as the whole input, or VALID.
+     */
+    public long getErrorPosition() {
+        if (error != VALID) return error;
+        return nOpeners > 0 ? position : VALID;
+    }
+
+    public static long validate(CharSequence input) {
+        return new BracketValidator().feed(input).getErrorPosition();
+    }
+
+    public static long validate(Reader reader) throws IOException {
+        return new BracketValidator().feed(reader).getErrorPosition();
+    }
+
+    /**
+     * Validates the remaining bytes of a buffer; positions are relative to its position.
+     */
+    public static long validate(ByteBuffer buffer, boolean parallel) {
+        int start = buffer.position();
+        int length = buffer.remaining();
+        if (!parallel || length < 2 * MIN_CHUNK_SIZE) {
+            return new BracketValidator().feed(buffer).getErrorPosition();
+        }
+        int nChunks = Math.min(length / MIN_CHUNK_SIZE, 4 * Runtime.getRuntime().availableProcessors());
+        return IntStream.range(0, nChunks)
+                .parallel()
+                .mapToObj(i -> {
+                    int from = (int) ((long) length * i / nChunks);
+                    int to = (int) ((long) length * (i + 1) / nChunks);
+                    return BracketSummary.of(buffer, start + from, start + to, from);
+                })
+                .reduce(BracketSummary::append)
+                .map(summary -> summary.firstError(length))
+                .orElse(VALID);
+    }
+
+    /**
+     * Validates a file, which is memory-mapped in chunks; in parallel mode every chunk is mapped and scanned by its own task.
+     */
+    public static long validateFile(Path file, boolean parallel) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (!parallel) {
+                BracketValidator validator = new BracketValidator();
+                for (long from = 0; from < size && validator.error == VALID; from += MAX_CHUNK_SIZE) {
+                    validator.feed(channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(MAX_CHUNK_SIZE, size - from)));
+                }
+                return validator.getErrorPosition();
+            }
+            int chunkSize = chunkSize(size);
+            int nChunks = (int) ((size + chunkSize - 1) / chunkSize);
+            return IntStream.range(0, nChunks)
+                    .parallel()
+                    .mapToObj(i -> {
+                        long from = (long) i * chunkSize;
+                        int length = (int) Math.min(chunkSize, size - from);
+                        try {
+                            ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+                            return BracketSummary.of(chunk, 0, length, from);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .reduce(BracketSummary::append)
+                    .map(summary -> summary.firstError(size))
+                    .orElse(VALID);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int chunkSize(long size) {
+        long chunks = Math.max(1, Math.min(size / MIN_CHUNK_SIZE, 4L * Runtime.getRuntime().availableProcessors()));
+        return (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, (size + chunks - 1) / chunks));
+    }
+}
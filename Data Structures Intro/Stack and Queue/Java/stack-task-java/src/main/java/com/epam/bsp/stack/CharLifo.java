@@ -0,0 +1,69 @@
+package com.epam.bsp.stack;
+
+import java.util.Arrays;
+
+/**
+ * Stack of char values backed by a char[] array: pushChar, popChar and peekChar do not box the values.
+ * The {@link Lifo} methods are available as well and box and unbox on every call.
+ */
+public class CharLifo extends PrimitiveArrayLifo<Character> {
+
+    private char[] elements;
+
+    /**
+     * @param initialCapacity initial length of the array
+     * @param shrink whether the array is shrunk when most of it is unused
+     */
+    public CharLifo(int initialCapacity, boolean shrink) {
+        super(initialCapacity, shrink);
+        this.elements = new char[initialCapacity];
+    }
+
+    public CharLifo() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    public char pushChar(char e) {
+        beforePush();
+        elements[size++] = e;
+        return e;
+    }
+
+    public char popChar() {
+        checkNotEmpty();
+        char e = elements[--size];
+        afterPop();
+        return e;
+    }
+
+    public char peekChar() {
+        checkNotEmpty();
+        return elements[size - 1];
+    }
+
+    @Override
+    public Character push(Character e) {
+        pushChar(e);
+        return e;
+    }
+
+    @Override
+    public Character pop() {
+        return popChar();
+    }
+
+    @Override
+    public Character peek() {
+        return peekChar();
+    }
+
+    @Override
+    int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    void resize(int capacity) {
+        elements = Arrays.copyOf(elements, capacity);
+    }
+}
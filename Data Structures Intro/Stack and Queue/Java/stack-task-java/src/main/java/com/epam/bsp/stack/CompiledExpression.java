@@ -0,0 +1,223 @@
+package com.epam.bsp.stack;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arithmetic expression compiled by {@link ExpressionCompiler} into an int[] instruction array,
+ * ready to be evaluated many times with different variable values.
+ * <p>
+ * Instructions are an opcode, followed by an operand for PUSH (index of the constant) and LOAD
+ * (index of the variable). The interpreter runs them on a primitive stack whose depth is known at
+ * compile time, so nothing is parsed, boxed or looked up by name during evaluation, and the batch
+ * methods reuse a single stack for all bindings.
+ * <p>
+ * Division truncates toward zero as in Java. The exact variants throw ArithmeticException on overflow,
+ * the others wrap around. Constants are parsed as longs; the int variants reject an expression with
+ * a constant outside the int range, like {@link Solution#evaluateRpnTokens(String[])} does.
+ * Instances are immutable and can be shared between threads.
+ */
+public class CompiledExpression {
+
+    static final int PUSH = 0;
+    static final int LOAD = 1;
+    static final int ADD = 2;
+    static final int SUB = 3;
+    static final int MUL = 4;
+    static final int DIV = 5;
+    static final int NEG = 6;
+
+    private final String source;
+    private final int[] code;
+    private final long[] constants;
+    private final String[] variables;
+    private final int maxDepth;
+    /**
+     * Whether all constants fit in an int
+     */
+    private final boolean intConstants;
+
+    CompiledExpression(String source, int[] code, long[] constants, String[] variables, int maxDepth) {
+        this.source = source;
+        this.code = code;
+        this.constants = constants;
+        this.variables = variables;
+        this.maxDepth = maxDepth;
+        this.intConstants = Arrays.stream(constants).allMatch(c -> (int) c == c);
+    }
+
+    /**
+     * Returns the variable names in the order of their values in the evaluate methods (order of first appearance).
+     */
+    public List<String> getVariables() {
+        return List.of(variables);
+    }
+
+    /**
+     * Evaluates the expression in int arithmetic that wraps around on overflow,
+     * like {@link Solution#evaluateRpnTokens(String[])}.
+     * @throws ArithmeticException if a constant does not fit in an int.
+     */
+    public int evaluate(int... values) {
+        return run(checkBinding(values), newIntStack(), false);
+    }
+
+    /**
+     * Evaluates the expression in int arithmetic.
+     * @throws ArithmeticException if a constant or an intermediate result does not fit in an int.
+     */
+    public int evaluateExact(int... values) {
+        return run(checkBinding(values), newIntStack(), true);
+    }
+
+    public long evaluateLong(long... values) {
+        return run(checkBinding(values), new long[maxDepth], false);
+    }
+
+    /**
+     * Evaluates the expression in long arithmetic.
+     * @throws ArithmeticException if an intermediate result does not fit in a long.
+     */
+    public long evaluateLongExact(long... values) {
+        return run(checkBinding(values), new long[maxDepth], true);
+    }
+
+    /**
+     * Evaluates the expression for every binding of the variables, see {@link #evaluate(int...)}.
+     */
+    public int[] evaluateAll(int[][] bindings) {
+        int[] stack = newIntStack();
+        int[] results = new int[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            results[i] = run(checkBinding(bindings[i]), stack, false);
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates the expression for every binding of the variables, see {@link #evaluateLong(long...)}.
+     */
+    public long[] evaluateAllLong(long[][] bindings) {
+        long[] stack = new long[maxDepth];
+        long[] results = new long[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            results[i] = run(checkBinding(bindings[i]), stack, false);
+        }
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private int run(int[] values, int[] stack, boolean exact) {
+        int sp = 0;
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case PUSH:
+                    // checked by newIntStack
+                    stack[sp++] = (int) constants[code[++pc]];
+                    break;
+                case LOAD:
+                    stack[sp++] = values[code[++pc]];
+                    break;
+                case ADD: {
+                    int b = stack[--sp];
+                    stack[sp - 1] = exact ? Math.addExact(stack[sp - 1], b) : stack[sp - 1] + b;
+                    break;
+                }
+                case SUB: {
+                    int b = stack[--sp];
+                    stack[sp - 1] = exact ? Math.subtractExact(stack[sp - 1], b) : stack[sp - 1] - b;
+                    break;
+                }
+                case MUL: {
+                    int b = stack[--sp];
+                    stack[sp - 1] = exact ? Math.multiplyExact(stack[sp - 1], b) : stack[sp - 1] * b;
+                    break;
+                }
+                case DIV: {
+                    int b = stack[--sp];
+                    if (exact && stack[sp - 1] == Integer.MIN_VALUE && b == -1) {
+                        throw new ArithmeticException("integer overflow");
+                    }
+                    stack[sp - 1] /= b;
+                    break;
+                }
+                case NEG:
+                    stack[sp - 1] = exact ? Math.negateExact(stack[sp - 1]) : -stack[sp - 1];
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown opcode: " + code[pc]);
+            }
+        }
+        return stack[0];
+    }
+
+    private long run(long[] values, long[] stack, boolean exact) {
+        int sp = 0;
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case PUSH:
+                    stack[sp++] = constants[code[++pc]];
+                    break;
+                case LOAD:
+                    stack[sp++] = values[code[++pc]];
+                    break;
+                case ADD: {
+                    long b = stack[--sp];
+                    stack[sp - 1] = exact ? Math.addExact(stack[sp - 1], b) : stack[sp - 1] + b;
+                    break;
+                }
+                case SUB: {
+                    long b = stack[--sp];
+                    stack[sp - 1] = exact ? Math.subtractExact(stack[sp - 1], b) : stack[sp - 1] - b;
+                    break;
+                }
+                case MUL: {
+                    long b = stack[--sp];
+                    stack[sp - 1] = exact ? Math.multiplyExact(stack[sp - 1], b) : stack[sp - 1] * b;
+                    break;
+                }
+                case DIV: {
+                    long b = stack[--sp];
+                    if (exact && stack[sp - 1] == Long.MIN_VALUE && b == -1) {
+                        throw new ArithmeticException("long overflow");
+                    }
+                    stack[sp - 1] /= b;
+                    break;
+                }
+                case NEG:
+                    stack[sp - 1] = exact ? Math.negateExact(stack[sp - 1]) : -stack[sp - 1];
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown opcode: " + code[pc]);
+            }
+        }
+        return stack[0];
+    }
+
+    private int[] newIntStack() {
+        if (!intConstants) {
+            throw new ArithmeticException("Constant out of int range in '" + source + "'");
+        }
+        return new int[maxDepth];
+    }
+
+    private int[] checkBinding(int[] values) {
+        checkBindingLength(values.length);
+        return values;
+    }
+
+    private long[] checkBinding(long[] values) {
+        checkBindingLength(values.length);
+        return values;
+    }
+
+    private void checkBindingLength(int length) {
+        if (length != variables.length) {
+            throw new IllegalArgumentException("Expected values of " + Arrays.toString(variables) + ", got " + length);
+        }
+    }
+}
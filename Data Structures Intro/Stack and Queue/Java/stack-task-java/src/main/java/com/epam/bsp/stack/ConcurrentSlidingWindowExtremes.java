@@ -0,0 +1,138 @@
+package com.epam.bsp.stack;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@link SlidingWindowExtremes} for one writer thread and any number of reader threads.
+ * <p>
+ * After every add (or batch) the writer publishes the minimum, maximum and size of the window under
+ * the write lock of a StampedLock. Readers take an optimistic read stamp, copy the three values and
+ * validate the stamp, so they neither block the writer nor each other. They only fall back to a read
+ * lock if a write happened in between. Concurrent writers are serialized by the lock.
+ */
+public class ConcurrentSlidingWindowExtremes {
+
+    /**
+     * Consistent view of the window at some moment
+     */
+    public static final class Snapshot {
+        private final long minimum;
+        private final long maximum;
+        private final int size;
+
+        Snapshot(long minimum, long maximum, int size) {
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.size = size;
+        }
+
+        public boolean empty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @throws NoSuchElementException if the window was empty.
+         */
+        public long getMinimum() {
+            checkNotEmpty(size);
+            return minimum;
+        }
+
+        /**
+         * @throws NoSuchElementException if the window was empty.
+         */
+        public long getMaximum() {
+            checkNotEmpty(size);
+            return maximum;
+        }
+    }
+
+    private final SlidingWindowExtremes window;
+    private final StampedLock lock = new StampedLock();
+
+    private long minimum;
+    private long maximum;
+    private int size;
+
+    public ConcurrentSlidingWindowExtremes(int windowSize) {
+        this.window = new SlidingWindowExtremes(windowSize);
+    }
+
+    public void add(long value) {
+        long stamp = lock.writeLock();
+        try {
+            window.add(value);
+            publish();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds values[from..to) in order; readers see the window before or after the whole batch.
+     */
+    public void addAll(long[] values, int from, int to) {
+        long stamp = lock.writeLock();
+        try {
+            window.addAll(values, from, to);
+            publish();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    public Snapshot snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        long min = minimum;
+        long max = maximum;
+        int n = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                min = minimum;
+                max = maximum;
+                n = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return new Snapshot(min, max, n);
+    }
+
+    /**
+     * @throws NoSuchElementException if the window is empty.
+     */
+    public long getMinimum() {
+        return snapshot().getMinimum();
+    }
+
+    /**
+     * @throws NoSuchElementException if the window is empty.
+     */
+    public long getMaximum() {
+        return snapshot().getMaximum();
+    }
+
+    private void publish() {
+        size = window.size();
+        if (size > 0) {
+            minimum = window.getMinimum();
+            maximum = window.getMaximum();
+        }
+    }
+
+    private static void checkNotEmpty(int size) {
+        if (size == 0) {
+            throw new NoSuchElementException("Window is empty");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.bsp.stack;
+
+/**
+ * Minimum and maximum of the last N double samples, see {@link SlidingWindowExtremes}.
+ * <p>
+ * Every sample is mapped to a long whose signed order is the order of the doubles
+ * (-0.0 before 0.0, NaN after positive infinity), so the long engine is reused as is.
+ */
+public class DoubleSlidingWindowExtremes {
+
+    private final SlidingWindowExtremes window;
+
+    public DoubleSlidingWindowExtremes(int windowSize) {
+        this.window = new SlidingWindowExtremes(windowSize);
+    }
+
+    /**
+     * Returns a long that orders like given double: the bits of a negative double are flipped
+     * except the sign, so larger magnitudes become smaller longs.
+     */
+    public static long toSortableLong(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    public static double fromSortableLong(long sortable) {
+        return Double.longBitsToDouble(sortable ^ ((sortable >> 63) & Long.MAX_VALUE));
+    }
+
+    public int getWindowSize() {
+        return window.getWindowSize();
+    }
+
+    public int size() {
+        return window.size();
+    }
+
+    public boolean empty() {
+        return window.empty();
+    }
+
+    public long count() {
+        return window.count();
+    }
+
+    public void add(double value) {
+        window.add(toSortableLong(value));
+    }
+
+    public void addAll(double[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    public void addAll(double[] values, int from, int to) {
+        int start = Math.max(from, to - window.getWindowSize());
+        window.skip(start - from);
+        for (int i = start; i < to; i++) {
+            window.add(toSortableLong(values[i]));
+        }
+    }
+
+    public double getMinimum() {
+        return fromSortableLong(window.getMinimum());
+    }
+
+    public double getMaximum() {
+        return fromSortableLong(window.getMaximum());
+    }
+
+    public void clear() {
+        window.clear();
+    }
+}
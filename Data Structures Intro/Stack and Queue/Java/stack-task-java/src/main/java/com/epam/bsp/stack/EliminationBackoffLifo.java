@@ -0,0 +1,121 @@
+package com.epam.bsp.stack;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free stack that can be shared between threads (Treiber stack with elimination backoff).
+ * <p>
+ * push and pop update the top with a single compareAndSet. When the CAS fails under contention,
+ * the thread visits a random slot of an elimination array instead of retrying at once: a push and
+ * a pop that meet there exchange the element and both complete without touching the top,
+ * since a push immediately followed by a pop leaves the stack unchanged.
+ * <p>
+ * size is exact only when no operation is in progress; peek returns an element that
+ * may already be popped by another thread.
+ */
+public class EliminationBackoffLifo<E> implements Lifo<E> {
+
+    /**
+     * Value offered by pop in the elimination array; anything else is an element offered by push
+     */
+    private static final Object POP = new Object();
+    private static final int ELIMINATION_ATTEMPTS = 64;
+
+    private static class Node<E> {
+        final E element;
+        Node<E> next;
+
+        Node(E element) {
+            this.element = element;
+        }
+    }
+
+    private final AtomicReference<Node<E>> top = new AtomicReference<>();
+    private final LockFreeExchanger[] elimination;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * @param eliminationSlots number of slots in the elimination array, which should grow with the number of threads
+     */
+    public EliminationBackoffLifo(int eliminationSlots) {
+        if (eliminationSlots < 1) {
+            throw new IllegalArgumentException("Number of elimination slots must be positive: " + eliminationSlots);
+        }
+        elimination = new LockFreeExchanger[eliminationSlots];
+        for (int i = 0; i < eliminationSlots; i++) {
+            elimination[i] = new LockFreeExchanger();
+        }
+    }
+
+    public EliminationBackoffLifo() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    @Override
+    public boolean empty() {
+        return top.get() == null;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    @Override
+    public E push(E e) {
+        Node<E> node = new Node<>(e);
+        while (true) {
+            Node<E> oldTop = top.get();
+            node.next = oldTop;
+            if (top.compareAndSet(oldTop, node)) {
+                break;
+            }
+            if (eliminate(e) == POP) {
+                break;
+            }
+        }
+        size.increment();
+        return e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        while (true) {
+            Node<E> oldTop = top.get();
+            if (oldTop == null) {
+                throw new NoSuchElementException("Stack is empty");
+            }
+            if (top.compareAndSet(oldTop, oldTop.next)) {
+                size.decrement();
+                return oldTop.element;
+            }
+            Object other = eliminate(POP);
+            if (other != POP && other != LockFreeExchanger.TIMEOUT) {
+                size.decrement();
+                return (E) other;
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        Node<E> node = top.get();
+        if (node == null) {
+            throw new NoSuchElementException("Stack is empty");
+        }
+        return node.element;
+    }
+
+    /**
+     * Offers a value in a random slot of the elimination array.
+     * @return the value of the partner thread, or TIMEOUT
+     */
+    private Object eliminate(Object value) {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length);
+        return elimination[slot].exchange(value, ELIMINATION_ATTEMPTS);
+    }
+}
@@ -0,0 +1,294 @@
+package com.epam.bsp.stack;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compiles arithmetic expressions with integer constants, variables and the + - * / operators
+ * into {@link CompiledExpression}s.
+ * <p>
+ * Expressions are accepted in RPN (tokens separated by whitespace, as in {@link Solution#evaluateRpnTokens(String[])})
+ * or in infix notation with parentheses and unary minus, which is converted with the shunting-yard algorithm.
+ * Variables are identifiers (a letter or '_' followed by letters, digits or '_').
+ * <p>
+ * Compiled expressions are kept in a bounded LRU cache keyed by the expression text, so formulas that
+ * are evaluated over and over are compiled once. The compiler can be shared between threads.
+ */
+public class ExpressionCompiler {
+
+    private static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final Map<String, CompiledExpression> cache;
+
+    public ExpressionCompiler(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public ExpressionCompiler() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Compiles an RPN expression whose tokens are separated by whitespace.
+     * @throws IllegalArgumentException if the expression is not valid.
+     */
+    public CompiledExpression compileRpn(String expression) {
+        return cached("rpn:" + expression, () -> {
+            String trimmed = expression.trim();
+            return compileRpnTokens(expression, trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+"));
+        });
+    }
+
+    public CompiledExpression compileRpn(String[] tokens) {
+        return compileRpn(String.join(" ", tokens));
+    }
+
+    /**
+     * Compiles an infix expression, e.g. "(a + 2) * -b / 3".
+     * @throws IllegalArgumentException if the expression is not valid.
+     */
+    public CompiledExpression compileInfix(String expression) {
+        return cached("infix:" + expression, () -> new InfixParser(expression).parse());
+    }
+
+    private interface Compilation {
+        CompiledExpression compile();
+    }
+
+    private CompiledExpression cached(String key, Compilation compilation) {
+        synchronized (cache) {
+            CompiledExpression expression = cache.get(key);
+            if (expression != null) return expression;
+        }
+        // compiled outside the lock; two threads may compile the same expression once each
+        CompiledExpression expression = compilation.compile();
+        synchronized (cache) {
+            cache.put(key, expression);
+        }
+        return expression;
+    }
+
+    private static CompiledExpression compileRpnTokens(String source, String[] tokens) {
+        Emitter emitter = new Emitter(source);
+        for (String token : tokens) {
+            if (token.length() == 1 && "+-*/".indexOf(token.charAt(0)) >= 0) {
+                emitter.operator(token.charAt(0));
+            } else if (isIdentifierStart(token.charAt(0))) {
+                emitter.variable(token);
+            } else {
+                emitter.constant(token);
+            }
+        }
+        return emitter.finish();
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * Appends instructions in RPN order and tracks the stack depth to validate the expression.
+     */
+    private static final class Emitter {
+        private final String source;
+        private int[] code = new int[16];
+        private int length;
+        private long[] constants = new long[4];
+        private int nConstants;
+        private final Map<String, Integer> variables = new LinkedHashMap<>();
+        private int depth;
+        private int maxDepth;
+
+        Emitter(String source) {
+            this.source = source;
+        }
+
+        void constant(String token) {
+            long value;
+            try {
+                value = Long.parseLong(token);
+            } catch (NumberFormatException e) {
+                throw invalid("bad token '" + token + "'");
+            }
+            if (nConstants == constants.length) {
+                constants = Arrays.copyOf(constants, nConstants * 2);
+            }
+            constants[nConstants] = value;
+            emit(CompiledExpression.PUSH, nConstants++);
+            push();
+        }
+
+        void variable(String name) {
+            for (int i = 1; i < name.length(); i++) {
+                if (!isIdentifierPart(name.charAt(i))) {
+                    throw invalid("bad token '" + name + "'");
+                }
+            }
+            int slot = variables.computeIfAbsent(name, n -> variables.size());
+            emit(CompiledExpression.LOAD, slot);
+            push();
+        }
+
+        void operator(char op) {
+            if (depth < 2) {
+                throw invalid("missing operand for '" + op + "'");
+            }
+            depth--;
+            switch (op) {
+                case '+': emit(CompiledExpression.ADD); break;
+                case '-': emit(CompiledExpression.SUB); break;
+                case '*': emit(CompiledExpression.MUL); break;
+                case '/': emit(CompiledExpression.DIV); break;
+                default: throw invalid("unknown operator '" + op + "'");
+            }
+        }
+
+        void negate() {
+            if (depth < 1) {
+                throw invalid("missing operand for unary '-'");
+            }
+            emit(CompiledExpression.NEG);
+        }
+
+        CompiledExpression finish() {
+            if (depth != 1) {
+                throw invalid(depth == 0 ? "empty expression" : "missing operator");
+            }
+            return new CompiledExpression(source, Arrays.copyOf(code, length), Arrays.copyOf(constants, nConstants),
+                    variables.keySet().toArray(new String[0]), maxDepth);
+        }
+
+        IllegalArgumentException invalid(String reason) {
+            return new IllegalArgumentException("Invalid expression '" + source + "': " + reason);
+        }
+
+        private void push() {
+            maxDepth = Math.max(maxDepth, ++depth);
+        }
+
+        private void emit(int... instruction) {
+            if (length + instruction.length > code.length) {
+                code = Arrays.copyOf(code, Math.max(code.length * 2, length + instruction.length));
+            }
+            for (int x : instruction) {
+                code[length++] = x;
+            }
+        }
+    }
+
+    /**
+     * Shunting-yard: operands are emitted right away, operators wait on a stack until
+     * an operator of lower precedence or a closing parenthesis comes.
+     */
+    private static final class InfixParser {
+        /**
+         * Pseudo-operators on the operator stack
+         */
+        private static final char OPEN = '(';
+        private static final char UNARY_MINUS = '~';
+
+        private final String source;
+        private final Emitter emitter;
+        private final CharLifo operators = new CharLifo();
+        private int pos;
+
+        InfixParser(String source) {
+            this.source = source;
+            this.emitter = new Emitter(source);
+        }
+
+        CompiledExpression parse() {
+            // whether an operand is expected next, i.e. '-' and '+' are unary
+            boolean expectOperand = true;
+            while (true) {
+                while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) pos++;
+                if (pos == source.length()) break;
+                char c = source.charAt(pos);
+                if (Character.isDigit(c)) {
+                    if (!expectOperand) throw emitter.invalid("missing operator at " + pos);
+                    int start = pos;
+                    while (pos < source.length() && Character.isDigit(source.charAt(pos))) pos++;
+                    String digits = source.substring(start, pos);
+                    // fold a unary minus into the literal, so that "-2147483648" is a single int constant
+                    if (!operators.empty() && operators.peekChar() == UNARY_MINUS) {
+                        operators.popChar();
+                        emitter.constant("-" + digits);
+                    } else {
+                        emitter.constant(digits);
+                    }
+                    expectOperand = false;
+                } else if (isIdentifierStart(c)) {
+                    if (!expectOperand) throw emitter.invalid("missing operator at " + pos);
+                    int start = pos;
+                    while (pos < source.length() && isIdentifierPart(source.charAt(pos))) pos++;
+                    emitter.variable(source.substring(start, pos));
+                    expectOperand = false;
+                } else if (c == '(') {
+                    if (!expectOperand) throw emitter.invalid("missing operator at " + pos);
+                    operators.pushChar(OPEN);
+                    pos++;
+                } else if (c == ')') {
+                    if (expectOperand) throw emitter.invalid("missing operand at " + pos);
+                    while (!operators.empty() && operators.peekChar() != OPEN) {
+                        apply(operators.popChar());
+                    }
+                    if (operators.empty()) throw emitter.invalid("unmatched ')' at " + pos);
+                    operators.popChar();
+                    pos++;
+                } else if (c == '+' || c == '-' || c == '*' || c == '/') {
+                    pos++;
+                    if (expectOperand) {
+                        if (c == '-') operators.pushChar(UNARY_MINUS);
+                        else if (c != '+') throw emitter.invalid("missing operand at " + (pos - 1));
+                        continue;
+                    }
+                    // all binary operators are left-associative
+                    while (!operators.empty() && operators.peekChar() != OPEN
+                            && precedence(operators.peekChar()) >= precedence(c)) {
+                        apply(operators.popChar());
+                    }
+                    operators.pushChar(c);
+                    expectOperand = true;
+                } else {
+                    throw emitter.invalid("unexpected '" + c + "' at " + pos);
+                }
+            }
+            if (expectOperand) throw emitter.invalid("missing operand at end");
+            while (!operators.empty()) {
+                char op = operators.popChar();
+                if (op == OPEN) throw emitter.invalid("unmatched '('");
+                apply(op);
+            }
+            return emitter.finish();
+        }
+
+        private void apply(char op) {
+            if (op == UNARY_MINUS) {
+                emitter.negate();
+            } else {
+                emitter.operator(op);
+            }
+        }
+
+        private static int precedence(char op) {
+            switch (op) {
+                case UNARY_MINUS: return 3;
+                case '*': case '/': return 2;
+                default: return 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.epam.bsp.stack;
+
+import java.util.Arrays;
+
+/**
+ * Stack of int values backed by a int[] array: pushInt, popInt and peekInt do not box the values.
+ * The {@link Lifo} methods are available as well and box and unbox on every call.
+ */
+public class IntLifo extends PrimitiveArrayLifo<Integer> {
+
+    private int[] elements;
+
+    /**
+     * @param initialCapacity initial length of the array
+     * @param shrink whether the array is shrunk when most of it is unused
+     */
+    public IntLifo(int initialCapacity, boolean shrink) {
+        super(initialCapacity, shrink);
+        this.elements = new int[initialCapacity];
+    }
+
+    public IntLifo() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    public int pushInt(int e) {
+        beforePush();
+        elements[size++] = e;
+        return e;
+    }
+
+    public int popInt() {
+        checkNotEmpty();
+        int e = elements[--size];
+        afterPop();
+        return e;
+    }
+
+    public int peekInt() {
+        checkNotEmpty();
+        return elements[size - 1];
+    }
+
+    @Override
+    public Integer push(Integer e) {
+        pushInt(e);
+        return e;
+    }
+
+    @Override
+    public Integer pop() {
+        return popInt();
+    }
+
+    @Override
+    public Integer peek() {
+        return peekInt();
+    }
+
+    @Override
+    int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    void resize(int capacity) {
+        elements = Arrays.copyOf(elements, capacity);
+    }
+}
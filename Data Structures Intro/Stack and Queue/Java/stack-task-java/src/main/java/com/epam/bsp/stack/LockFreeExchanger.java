@@ -0,0 +1,61 @@
+package com.epam.bsp.stack;
+
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+/**
+ * Slot where two threads can swap values without locking.
+ * The first thread parks its value (EMPTY -> WAITING), the second one takes it and leaves its own
+ * (WAITING -> BUSY), and the first one collects that and frees the slot (BUSY -> EMPTY).
+ */
+class LockFreeExchanger {
+
+    /**
+     * Returned when no other thread came within the given number of attempts
+     */
+    static final Object TIMEOUT = new Object();
+
+    private static final int EMPTY = 0;
+    private static final int WAITING = 1;
+    private static final int BUSY = 2;
+
+    private final AtomicStampedReference<Object> slot = new AtomicStampedReference<>(null, EMPTY);
+
+    /**
+     * Offers a value and returns the value of the thread it was exchanged with, or TIMEOUT.
+     */
+    Object exchange(Object item, int attempts) {
+        int[] state = {EMPTY};
+        for (int i = 0; i < attempts; i++) {
+            Object other = slot.get(state);
+            switch (state[0]) {
+                case EMPTY:
+                    if (slot.compareAndSet(other, item, EMPTY, WAITING)) {
+                        for (; i < attempts; i++) {
+                            other = slot.get(state);
+                            if (state[0] == BUSY) {
+                                slot.set(null, EMPTY);
+                                return other;
+                            }
+                            Thread.onSpinWait();
+                        }
+                        // withdraw the offer, unless a partner has just taken it
+                        if (slot.compareAndSet(item, null, WAITING, EMPTY)) {
+                            return TIMEOUT;
+                        }
+                        other = slot.getReference();
+                        slot.set(null, EMPTY);
+                        return other;
+                    }
+                    break;
+                case WAITING:
+                    if (slot.compareAndSet(other, item, WAITING, BUSY)) {
+                        return other;
+                    }
+                    break;
+                default:
+                    Thread.onSpinWait();
+            }
+        }
+        return TIMEOUT;
+    }
+}
@@ -0,0 +1,69 @@
+package com.epam.bsp.stack;
+
+import java.util.Arrays;
+
+/**
+ * Stack of long values backed by a long[] array: pushLong, popLong and peekLong do not box the values.
+ * The {@link Lifo} methods are available as well and box and unbox on every call.
+ */
+public class LongLifo extends PrimitiveArrayLifo<Long> {
+
+    private long[] elements;
+
+    /**
+     * @param initialCapacity initial length of the array
+     * @param shrink whether the array is shrunk when most of it is unused
+     */
+    public LongLifo(int initialCapacity, boolean shrink) {
+        super(initialCapacity, shrink);
+        this.elements = new long[initialCapacity];
+    }
+
+    public LongLifo() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    public long pushLong(long e) {
+        beforePush();
+        elements[size++] = e;
+        return e;
+    }
+
+    public long popLong() {
+        checkNotEmpty();
+        long e = elements[--size];
+        afterPop();
+        return e;
+    }
+
+    public long peekLong() {
+        checkNotEmpty();
+        return elements[size - 1];
+    }
+
+    @Override
+    public Long push(Long e) {
+        pushLong(e);
+        return e;
+    }
+
+    @Override
+    public Long pop() {
+        return popLong();
+    }
+
+    @Override
+    public Long peek() {
+        return peekLong();
+    }
+
+    @Override
+    int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    void resize(int capacity) {
+        elements = Arrays.copyOf(elements, capacity);
+    }
+}
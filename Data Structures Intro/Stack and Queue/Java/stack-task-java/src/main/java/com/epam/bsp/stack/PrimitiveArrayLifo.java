@@ -0,0 +1,80 @@
+package com.epam.bsp.stack;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Common part of the stacks backed by a primitive array: the size and the capacity policy.
+ * The array doubles when it is full and, if shrinking is enabled, halves when it becomes
+ * a quarter full (never below the initial capacity), so push and pop take amortized O(1) time.
+ */
+abstract class PrimitiveArrayLifo<E> implements Lifo<E> {
+
+    static final int DEFAULT_CAPACITY = 16;
+
+    private final int initialCapacity;
+    private final boolean shrink;
+    protected int size;
+
+    PrimitiveArrayLifo(int initialCapacity, boolean shrink) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+        }
+        this.initialCapacity = initialCapacity;
+        this.shrink = shrink;
+    }
+
+    @Override
+    public boolean empty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements; the array is reset to the initial capacity if shrinking is enabled.
+     */
+    public void clear() {
+        size = 0;
+        if (shrink && capacity() > initialCapacity) {
+            resize(initialCapacity);
+        }
+    }
+
+    abstract int capacity();
+
+    abstract void resize(int capacity);
+
+    /**
+     * Makes room for one more element.
+     */
+    final void beforePush() {
+        if (size == capacity()) {
+            if (size == Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Stack is full");
+            }
+            resize((int) Math.min(Integer.MAX_VALUE - 8, 2L * size));
+        }
+    }
+
+    /**
+     * Checks that there is an element to pop or peek.
+     */
+    final void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("Stack is empty");
+        }
+    }
+
+    /**
+     * Releases memory after an element has been popped.
+     */
+    final void afterPop() {
+        int capacity = capacity();
+        if (shrink && size < capacity / 4 && capacity > initialCapacity) {
+            resize(Math.max(initialCapacity, capacity / 2));
+        }
+    }
+}
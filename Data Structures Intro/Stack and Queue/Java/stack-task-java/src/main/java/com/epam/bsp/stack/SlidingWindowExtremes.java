@@ -0,0 +1,165 @@
+package com.epam.bsp.stack;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Minimum and maximum of the last N long samples, in O(1) amortized time per sample.
+ * <p>
+ * It extends the idea of {@link LifoWithMinimumImpl}'s minimum stack to a window:
+ * a monotonic deque keeps only the samples that can still become the minimum, i.e. those
+ * without a smaller or equal sample after them, so its first entry is the minimum of the window.
+ * Every sample is added and removed at most once. The maximum is kept in the same way
+ * over the bitwise complements of the samples, which reverses their order without overflow.
+ * <p>
+ * The deques are ring buffers of primitive arrays allocated once, so adding samples does not allocate.
+ * Not thread-safe, see {@link ConcurrentSlidingWindowExtremes}.
+ */
+public class SlidingWindowExtremes {
+
+    /**
+     * Deque of (value, sequence number) pairs with increasing values
+     */
+    private static final class MonotonicDeque {
+        private final long[] values;
+        private final long[] sequences;
+        private final int mask;
+        private int head;
+        private int size;
+
+        MonotonicDeque(int capacity) {
+            int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            this.values = new long[length];
+            this.sequences = new long[length];
+            this.mask = length - 1;
+        }
+
+        /**
+         * Adds a value; the entries older than the oldest sequence number of the window are dropped first,
+         * so there are never more entries than the window size.
+         */
+        void add(long value, long sequence, long oldest) {
+            while (size > 0 && sequences[head] < oldest) {
+                head = (head + 1) & mask;
+                size--;
+            }
+            while (size > 0 && values[(head + size - 1) & mask] >= value) {
+                size--;
+            }
+            int tail = (head + size) & mask;
+            values[tail] = value;
+            sequences[tail] = sequence;
+            size++;
+        }
+
+        long first() {
+            return values[head];
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+    }
+
+    private final int windowSize;
+    private final MonotonicDeque min;
+    /**
+     * Complements of the samples: its minimum is the complement of the maximum sample
+     */
+    private final MonotonicDeque max;
+    private long count;
+
+    public SlidingWindowExtremes(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.min = new MonotonicDeque(windowSize);
+        this.max = new MonotonicDeque(windowSize);
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the number of samples in the window.
+     */
+    public int size() {
+        return (int) Math.min(count, windowSize);
+    }
+
+    public boolean empty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of samples added since creation or the last clear.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Adds a sample; the oldest one leaves the window if it is full.
+     */
+    public void add(long value) {
+        long sequence = count++;
+        long oldest = sequence - windowSize + 1;
+        min.add(value, sequence, oldest);
+        max.add(~value, sequence, oldest);
+    }
+
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Adds values[from..to) in order.
+     */
+    public void addAll(long[] values, int from, int to) {
+        int start = Math.max(from, to - windowSize);
+        skip(start - from);
+        for (int i = start; i < to; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Counts samples that are not added because they would leave the window within the same batch;
+     * the deque entries they would evict expire at the next add.
+     */
+    void skip(int n) {
+        count += n;
+    }
+
+    /**
+     * Returns the minimum sample in the window.
+     * @throws NoSuchElementException if the window is empty.
+     */
+    public long getMinimum() {
+        checkNotEmpty();
+        return min.first();
+    }
+
+    /**
+     * Returns the maximum sample in the window.
+     * @throws NoSuchElementException if the window is empty.
+     */
+    public long getMaximum() {
+        checkNotEmpty();
+        return ~max.first();
+    }
+
+    public void clear() {
+        count = 0;
+        min.clear();
+        max.clear();
+    }
+
+    private void checkNotEmpty() {
+        if (count == 0) {
+            throw new NoSuchElementException("Window is empty");
+        }
+    }
+}
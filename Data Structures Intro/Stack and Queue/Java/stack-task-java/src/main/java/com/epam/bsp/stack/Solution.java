@@ -1,7 +1,5 @@
 package com.epam.bsp.stack;
 
-import java.util.Stack;
-
 public class Solution {
 
     /**
@@ -11,14 +9,15 @@ public class Solution {
      * @return whether a given string is valid parentheses expression.
      */
     public static boolean isValidParentheses(String expression) {
-        Stack<Character> stack = new Stack<>();
+        CharLifo stack = new CharLifo();
 
-        for (char c : expression.toCharArray()) {
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
             if (c == '(' || c == '{' || c == '[') {
-                stack.push(c);
+                stack.pushChar(c);
             } else {
-                if (stack.isEmpty()) return false;
-                char open = stack.pop();
+                if (stack.empty()) return false;
+                char open = stack.popChar();
                 if ((c == ')' && open != '(') ||
                     (c == '}' && open != '{') ||
                     (c == ']' && open != '[')) {
@@ -27,7 +26,7 @@ public class Solution {
             }
         }
 
-        return stack.isEmpty();
+        return stack.empty();
     }
 
     /**
@@ -37,33 +36,33 @@ public class Solution {
      * @return the evaluation result
      */
     public static int evaluateRpnTokens(String[] rpnTokens) {
-        Stack<Integer> stack = new Stack<>();
+        IntLifo stack = new IntLifo();
 
         for (String token : rpnTokens) {
             switch (token) {
                 case "+":
-                    stack.push(stack.pop() + stack.pop());
+                    stack.pushInt(stack.popInt() + stack.popInt());
                     break;
                 case "-": {
-                    int b = stack.pop();
-                    int a = stack.pop();
-                    stack.push(a - b);
+                    int b = stack.popInt();
+                    int a = stack.popInt();
+                    stack.pushInt(a - b);
                     break;
                 }
                 case "*":
-                    stack.push(stack.pop() * stack.pop());
+                    stack.pushInt(stack.popInt() * stack.popInt());
                     break;
                 case "/": {
-                    int b = stack.pop();
-                    int a = stack.pop();
-                    stack.push(a / b);
+                    int b = stack.popInt();
+                    int a = stack.popInt();
+                    stack.pushInt(a / b);
                     break;
                 }
                 default:
-                    stack.push(Integer.parseInt(token));
+                    stack.pushInt(Integer.parseInt(token));
             }
         }
 
-        return stack.pop();
+        return stack.popInt();
     }
 }